@@ -0,0 +1,21 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BatchConfig {
+    @Bean
+    public AsyncTaskExecutor batchExecutor(@Value("${shareit-gateway.batch.threads:32}") int threads,
+                                           @Value("${shareit-gateway.batch.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-");
+        return executor;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.dto.BatchSubRequestDto;
+import ru.practicum.shareit.batch.dto.BatchSubResponseDto;
+import ru.practicum.shareit.client.UpstreamAttempt;
+import ru.practicum.shareit.exceptions.NestedBatchException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
+@RequestMapping("/batch")
+@Validated
+public class BatchController {
+    private final BatchDispatcher batchDispatcher;
+    private final AsyncTaskExecutor batchExecutor;
+    private final Duration timeout;
+
+    public BatchController(BatchDispatcher batchDispatcher,
+                           AsyncTaskExecutor batchExecutor,
+                           @Value("${shareit-gateway.batch.timeout:30s}") Duration timeout) {
+        this.batchDispatcher = batchDispatcher;
+        this.batchExecutor = batchExecutor;
+        this.timeout = timeout;
+    }
+
+    @PostMapping
+    public BatchResponseDto executeBatch(@RequestHeader(name = "X-Sharer-User-Id", required = false) String userId,
+                                         @Valid @RequestBody BatchRequestDto batchRequestDto,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
+        if (BatchDispatcher.isSubRequest(request)) {
+            throw new NestedBatchException("Batch requests cannot be nested");
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<PendingSubRequest> pending = batchRequestDto.getRequests().stream()
+                .map(subRequestDto -> submit(subRequestDto, batchDispatcher.toSubRequest(request, userId, subRequestDto), response))
+                .collect(Collectors.toList());
+
+        try {
+            List<BatchSubResponseDto> subResponses = new ArrayList<>(pending.size());
+            for (PendingSubRequest subRequest : pending) {
+                subResponses.add(subRequest.await(deadline));
+            }
+            return new BatchResponseDto(subResponses);
+        } catch (InterruptedException e) {
+            pending.forEach(PendingSubRequest::cancel);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch sub-requests", e);
+        }
+    }
+
+    private PendingSubRequest submit(BatchSubRequestDto subRequestDto,
+                                     BatchSubRequest subRequest,
+                                     HttpServletResponse response) {
+        UpstreamAttempt attempt = new UpstreamAttempt();
+        try {
+            Future<BatchSubResponseDto> task = batchExecutor.submit(
+                    () -> attempt.run(() -> batchDispatcher.dispatch(subRequestDto, subRequest, response)));
+            return new PendingSubRequest(subRequestDto, attempt, task);
+        } catch (RejectedExecutionException e) {
+            return new PendingSubRequest(subRequestDto, attempt, CompletableFuture.completedFuture(batchDispatcher.rejected(subRequestDto)));
+        }
+    }
+
+    private class PendingSubRequest {
+        private final BatchSubRequestDto subRequestDto;
+        private final UpstreamAttempt attempt;
+        private final Future<BatchSubResponseDto> task;
+
+        private PendingSubRequest(BatchSubRequestDto subRequestDto, UpstreamAttempt attempt, Future<BatchSubResponseDto> task) {
+            this.subRequestDto = subRequestDto;
+            this.attempt = attempt;
+            this.task = task;
+        }
+
+        private BatchSubResponseDto await(long deadline) throws InterruptedException {
+            try {
+                return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancel();
+                return batchDispatcher.timedOut(subRequestDto);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private void cancel() {
+            attempt.cancel();
+            task.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.web.servlet.AbstractFilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.batch.dto.BatchSubRequestDto;
+import ru.practicum.shareit.batch.dto.BatchSubResponseDto;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BatchDispatcher implements SmartInitializingSingleton {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String SUB_REQUEST_ATTRIBUTE = BatchDispatcher.class.getName() + ".SUB_REQUEST";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final ObjectMapper objectMapper;
+    private final ListableBeanFactory beanFactory;
+    private final String errorPath;
+    private List<Filter> filters = List.of();
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet,
+                           ObjectMapper objectMapper,
+                           ListableBeanFactory beanFactory,
+                           @Value("${server.error.path:${error.path:/error}}") String errorPath) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.objectMapper = objectMapper;
+        this.beanFactory = beanFactory;
+        this.errorPath = errorPath;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        filters = new ServletContextInitializerBeans(beanFactory, AbstractFilterRegistrationBean.class).stream()
+                .filter(AbstractFilterRegistrationBean.class::isInstance)
+                .map(AbstractFilterRegistrationBean.class::cast)
+                .filter(registration -> registration.isEnabled() && mapsToDispatcherServlet(registration))
+                .map(AbstractFilterRegistrationBean::getFilter)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    static boolean isSubRequest(HttpServletRequest request) {
+        return request.getAttribute(SUB_REQUEST_ATTRIBUTE) != null;
+    }
+
+    BatchSubRequest toSubRequest(HttpServletRequest batchRequest,
+                                 String batchUserId,
+                                 BatchSubRequestDto subRequestDto) {
+        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        if (subRequestDto.getHeaders() != null) {
+            headers.putAll(subRequestDto.getHeaders());
+        }
+        headers.remove(USER_ID_HEADER);
+        if (batchUserId != null) {
+            headers.put(USER_ID_HEADER, batchUserId);
+        }
+        headers.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+        byte[] body;
+        try {
+            body = subRequestDto.getBody() != null
+                    ? objectMapper.writeValueAsBytes(subRequestDto.getBody())
+                    : new byte[0];
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        if (body.length > 0) {
+            headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+
+        String pathWithQuery = subRequestDto.getPath();
+        int queryStart = pathWithQuery.indexOf('?');
+        String path = queryStart >= 0 ? pathWithQuery.substring(0, queryStart) : pathWithQuery;
+        String queryString = queryStart >= 0 ? pathWithQuery.substring(queryStart + 1) : null;
+
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        if (queryString != null) {
+            UriComponentsBuilder.fromUriString(pathWithQuery)
+                    .build()
+                    .getQueryParams()
+                    .forEach((name, values) -> parameters.merge(decode(name),
+                            values.stream().map(value -> value != null ? decode(value) : "").toArray(String[]::new),
+                            (existing, added) -> Stream.concat(Arrays.stream(existing), Arrays.stream(added))
+                                    .toArray(String[]::new)));
+        }
+
+        BatchSubRequest subRequest = new BatchSubRequest(batchRequest, subRequestDto.getMethod(), path, queryString,
+                parameters, headers, body, StandardCharsets.UTF_8.name());
+        subRequest.setAttribute(SUB_REQUEST_ATTRIBUTE, Boolean.TRUE);
+        return subRequest;
+    }
+
+    BatchSubResponseDto dispatch(BatchSubRequestDto subRequestDto,
+                                 BatchSubRequest subRequest,
+                                 HttpServletResponse batchResponse) {
+        try {
+            BatchSubResponse subResponse = new BatchSubResponse(batchResponse);
+            ContentCachingResponseWrapper content = new ContentCachingResponseWrapper(subResponse);
+
+            new SubRequestFilterChain(filters.iterator()).doFilter(subRequest, content);
+            if (subResponse.isErrorSent()) {
+                subResponse = toErrorDispatch(subRequest, subResponse, batchResponse);
+                content = new ContentCachingResponseWrapper(subResponse);
+                dispatcherServlet.service(subRequest, content);
+            }
+
+            return new BatchSubResponseDto(subRequestDto.getId(), subResponse.getStatus(),
+                    jsonBodyOf(content.getContentAsByteArray(), subResponse.getContentType()));
+        } catch (ServletException | IOException | RuntimeException e) {
+            log.warn("Batch sub-request {} {} failed", subRequestDto.getMethod(), subRequestDto.getPath(), e);
+            return new BatchSubResponseDto(subRequestDto.getId(), HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    writeJson(new ErrorResponse(e.getMessage())));
+        }
+    }
+
+    BatchSubResponseDto timedOut(BatchSubRequestDto subRequestDto) {
+        log.warn("Batch sub-request {} {} timed out", subRequestDto.getMethod(), subRequestDto.getPath());
+        return new BatchSubResponseDto(subRequestDto.getId(), HttpServletResponse.SC_GATEWAY_TIMEOUT,
+                writeJson(new ErrorResponse("Batch sub-request timed out")));
+    }
+
+    BatchSubResponseDto rejected(BatchSubRequestDto subRequestDto) {
+        log.warn("Batch sub-request {} {} rejected, batch queue is full", subRequestDto.getMethod(), subRequestDto.getPath());
+        return new BatchSubResponseDto(subRequestDto.getId(), HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                writeJson(new ErrorResponse("Batch queue is full")));
+    }
+
+    private BatchSubResponse toErrorDispatch(BatchSubRequest subRequest,
+                                         BatchSubResponse failedResponse,
+                                         HttpServletResponse batchResponse) {
+        subRequest.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, failedResponse.getStatus());
+        subRequest.setAttribute(RequestDispatcher.ERROR_MESSAGE,
+                failedResponse.getErrorMessage() != null ? failedResponse.getErrorMessage() : "");
+        subRequest.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, subRequest.getRequestURI());
+        subRequest.setAttribute(RequestDispatcher.ERROR_SERVLET_NAME,
+                DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME);
+        subRequest.forwardTo(errorPath, DispatcherType.ERROR);
+
+        BatchSubResponse errorResponse = new BatchSubResponse(batchResponse);
+        errorResponse.setStatus(failedResponse.getStatus());
+        return errorResponse;
+    }
+
+    private String jsonBodyOf(byte[] body, String contentType) {
+        if (body.length == 0) {
+            return null;
+        }
+
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return text;
+        }
+        return writeJson(text);
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(String value) {
+        return UriUtils.decode(value.replace('+', ' '), StandardCharsets.UTF_8);
+    }
+
+    private boolean mapsToDispatcherServlet(AbstractFilterRegistrationBean<?> registration) {
+        Collection<String> urlPatterns = registration.getUrlPatterns();
+        if (urlPatterns.contains("/*")) {
+            return true;
+        }
+        if (registration.getServletRegistrationBeans().isEmpty() && registration.getServletNames().isEmpty()) {
+            return urlPatterns.isEmpty();
+        }
+        return registration.getServletNames().contains(DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME)
+                || registration.getServletRegistrationBeans().stream()
+                .anyMatch(servletRegistration -> servletRegistration.getServlet() == dispatcherServlet);
+    }
+
+    private class SubRequestFilterChain implements FilterChain {
+        private final Iterator<Filter> remainingFilters;
+
+        private SubRequestFilterChain(Iterator<Filter> remainingFilters) {
+            this.remainingFilters = remainingFilters;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (remainingFilters.hasNext()) {
+                remainingFilters.next().doFilter(request, response, this);
+            } else {
+                dispatcherServlet.service(request, response);
+            }
+        }
+    }
+}
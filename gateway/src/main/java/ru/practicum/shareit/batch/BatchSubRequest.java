@@ -0,0 +1,514 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.ReadListener;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.MappingMatch;
+import javax.servlet.http.PushBuilder;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class BatchSubRequest extends HttpServletRequestWrapper {
+    private static final HttpServletMapping DISPATCHER_SERVLET_MAPPING = new HttpServletMapping() {
+        @Override
+        public String getMatchValue() {
+            return "";
+        }
+
+        @Override
+        public String getPattern() {
+            return "/";
+        }
+
+        @Override
+        public String getServletName() {
+            return DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME;
+        }
+
+        @Override
+        public MappingMatch getMappingMatch() {
+            return MappingMatch.DEFAULT;
+        }
+    };
+
+    private final ServletContext servletContext;
+    private final String method;
+    private final String contextPath;
+    private final String queryString;
+    private final Map<String, String[]> parameters;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private final String protocol;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final boolean secure;
+    private final String remoteAddr;
+    private final String remoteHost;
+    private final int remotePort;
+    private final String localAddr;
+    private final String localName;
+    private final int localPort;
+    private final List<Locale> locales;
+    private final Principal userPrincipal;
+    private final String remoteUser;
+    private final String authType;
+    private String requestUri;
+    private String servletPath;
+    private String characterEncoding;
+    private DispatcherType dispatcherType = DispatcherType.REQUEST;
+
+    BatchSubRequest(HttpServletRequest batchRequest,
+                    String method,
+                    String path,
+                    String queryString,
+                    Map<String, String[]> parameters,
+                    Map<String, String> headers,
+                    byte[] body,
+                    String characterEncoding) {
+        super(batchRequest);
+        this.servletContext = batchRequest.getServletContext();
+        this.method = method;
+        this.contextPath = batchRequest.getContextPath();
+        this.requestUri = contextPath + path;
+        this.servletPath = path;
+        this.queryString = queryString;
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+        this.headers = new LinkedCaseInsensitiveMap<>();
+        headers.forEach((name, value) -> this.headers.put(name, List.of(value)));
+        this.body = body.clone();
+        this.characterEncoding = characterEncoding;
+        this.protocol = batchRequest.getProtocol();
+        this.scheme = batchRequest.getScheme();
+        this.serverName = batchRequest.getServerName();
+        this.serverPort = batchRequest.getServerPort();
+        this.secure = batchRequest.isSecure();
+        this.remoteAddr = batchRequest.getRemoteAddr();
+        this.remoteHost = batchRequest.getRemoteHost();
+        this.remotePort = batchRequest.getRemotePort();
+        this.localAddr = batchRequest.getLocalAddr();
+        this.localName = batchRequest.getLocalName();
+        this.localPort = batchRequest.getLocalPort();
+        this.locales = Collections.list(batchRequest.getLocales());
+        this.userPrincipal = batchRequest.getUserPrincipal();
+        this.remoteUser = batchRequest.getRemoteUser();
+        this.authType = batchRequest.getAuthType();
+    }
+
+    void forwardTo(String path, DispatcherType dispatcherType) {
+        this.requestUri = contextPath + path;
+        this.servletPath = path;
+        this.dispatcherType = dispatcherType;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer(scheme).append("://").append(serverName);
+        if (!("http".equals(scheme) && serverPort == 80) && !("https".equals(scheme) && serverPort == 443)) {
+            url.append(':').append(serverPort);
+        }
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return DISPATCHER_SERVLET_MAPPING;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = parameters.get(name);
+        return values != null ? values.clone() : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cannot parse date header " + name + ": " + value, e);
+        }
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        return null;
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String characterEncoding) {
+        this.characterEncoding = characterEncoding;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream content = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return content.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new IllegalStateException("Batch sub-requests do not support non-blocking reads");
+            }
+
+            @Override
+            public int read() {
+                return content.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return content.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws UnsupportedEncodingException {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), characterEncoding));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(List.copyOf(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String getProtocol() {
+        return protocol;
+    }
+
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return secure;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return remoteAddr;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return remoteHost;
+    }
+
+    @Override
+    public int getRemotePort() {
+        return remotePort;
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return localAddr;
+    }
+
+    @Override
+    public String getLocalName() {
+        return localName;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return localPort;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return userPrincipal;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return remoteUser;
+    }
+
+    @Override
+    public String getAuthType() {
+        return authType;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return dispatcherType;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return servletContext.getRequestDispatcher(path);
+    }
+
+    @Override
+    @Deprecated
+    public String getRealPath(String path) {
+        return servletContext.getRealPath(path);
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (create) {
+            throw new IllegalStateException("Batch sub-requests do not support sessions");
+        }
+        return null;
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("Batch sub-requests do not support sessions");
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return null;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+
+    @Override
+    @Deprecated
+    public boolean isRequestedSessionIdFromUrl() {
+        return false;
+    }
+
+    @Override
+    public PushBuilder newPushBuilder() {
+        return null;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Batch sub-requests do not support async processing");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Batch sub-requests do not support async processing");
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Batch sub-requests do not support async processing");
+    }
+
+    @Override
+    public Map<String, String> getTrailerFields() {
+        return Map.of();
+    }
+
+    @Override
+    public boolean isTrailerFieldsReady() {
+        return true;
+    }
+}
@@ -0,0 +1,321 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+class BatchSubResponse extends HttpServletResponseWrapper {
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CHARSET = "charset=";
+
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private int status = SC_OK;
+    private boolean errorSent;
+    private String errorMessage;
+    private boolean committed;
+    private String contentType;
+    private String characterEncoding = StandardCharsets.UTF_8.name();
+    private int bufferSize = 4096;
+    private Locale locale = Locale.getDefault();
+    private Supplier<Map<String, String>> trailerFields;
+
+    BatchSubResponse(HttpServletResponse batchResponse) {
+        super(batchResponse);
+    }
+
+    boolean isErrorSent() {
+        return errorSent;
+    }
+
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public void sendError(int status, String errorMessage) {
+        checkNotCommitted();
+        this.status = status;
+        this.errorMessage = errorMessage;
+        errorSent = true;
+        committed = true;
+    }
+
+    @Override
+    public void sendError(int status) {
+        sendError(status, null);
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        checkNotCommitted();
+        status = SC_FOUND;
+        setHeader("Location", location);
+        committed = true;
+    }
+
+    @Override
+    public void setStatus(int status) {
+        if (!committed) {
+            this.status = status;
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int status, String message) {
+        setStatus(status);
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return getHeader(name) != null;
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeUrl(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeRedirectUrl(String url) {
+        return url;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (!committed) {
+            List<String> values = new ArrayList<>();
+            values.add(value);
+            headers.put(name, values);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (!committed) {
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, formatDate(date));
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return getContentType();
+        }
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return contentType != null ? List.of(getContentType()) : List.of();
+        }
+        return List.copyOf(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        List<String> names = new ArrayList<>(headers.keySet());
+        if (contentType != null) {
+            names.add(CONTENT_TYPE);
+        }
+        return names;
+    }
+
+    @Override
+    public void setContentType(String contentType) {
+        if (committed) {
+            return;
+        }
+        this.contentType = contentType;
+        if (contentType != null) {
+            int charsetStart = contentType.toLowerCase(Locale.ROOT).indexOf(CHARSET);
+            if (charsetStart >= 0) {
+                String charset = contentType.substring(charsetStart + CHARSET.length()).split(";", 2)[0].trim();
+                characterEncoding = charset.replace("\"", "");
+            }
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setCharacterEncoding(String characterEncoding) {
+        if (!committed && characterEncoding != null) {
+            this.characterEncoding = characterEncoding;
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int contentLength) {
+    }
+
+    @Override
+    public void setContentLengthLong(long contentLength) {
+    }
+
+    @Override
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public void flushBuffer() {
+        committed = true;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void resetBuffer() {
+        checkNotCommitted();
+    }
+
+    @Override
+    public void reset() {
+        checkNotCommitted();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        if (!committed && locale != null) {
+            this.locale = locale;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public void setTrailerFields(Supplier<Map<String, String>> trailerFields) {
+        this.trailerFields = trailerFields;
+    }
+
+    @Override
+    public Supplier<Map<String, String>> getTrailerFields() {
+        return trailerFields;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new IllegalStateException("Batch sub-responses do not support non-blocking writes");
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+            }
+        };
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        return new PrintWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), Charset.forName(characterEncoding)));
+    }
+
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new IllegalStateException("Batch sub-response is already committed");
+        }
+    }
+
+    private static String formatDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDto {
+    @NotEmpty
+    @Size(max = 20)
+    private List<@Valid BatchSubRequestDto> requests;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchResponseDto {
+    private List<BatchSubResponseDto> responses;
+}
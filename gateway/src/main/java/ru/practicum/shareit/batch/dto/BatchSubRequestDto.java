@@ -0,0 +1,26 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSubRequestDto {
+    private String id;
+    @NotBlank
+    @Pattern(regexp = "GET|POST|PATCH|PUT|DELETE")
+    private String method;
+    @NotNull
+    @Pattern(regexp = "/.*")
+    private String path;
+    private Map<String, String> headers;
+    private JsonNode body;
+}
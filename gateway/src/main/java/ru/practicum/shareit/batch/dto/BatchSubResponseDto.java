@@ -0,0 +1,14 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BatchSubResponseDto {
+    private String id;
+    private int status;
+    @JsonRawValue
+    private String body;
+}
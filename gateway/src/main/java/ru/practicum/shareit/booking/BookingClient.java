@@ -2,54 +2,67 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingFilterState;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.resilience.HedgedRequests;
+import ru.practicum.shareit.resilience.RouteIsolation;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
     public BookingClient(@Value("${shareit-server.url}") String serverUrl,
-                         RestTemplateBuilder builder) {
+                         RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareItServerRequestFactory,
+                         RequestCoalescer coalescer,
+                         ResponseCache responseCache,
+                         RouteIsolation routeIsolation,
+                         HedgedRequests hedgedRequests) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                coalescer,
+                responseCache,
+                routeIsolation,
+                hedgedRequests
         );
     }
 
     public ResponseEntity<Object> getAllBookings(Integer userId,
-                                                 BookingFilterState state,
+                                                 Set<BookingFilterState> states,
+                                                 Integer itemId,
+                                                 String cursor,
                                                  Integer from,
                                                  Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        Map<String, Object> parameters = BookingListQuery.parametersOf(states, itemId, cursor, from, size);
+        return get(BookingListQuery.pathOf("", parameters), userId, parameters);
     }
 
     public ResponseEntity<Object> getAllBookingByOwner(Integer userId,
-                                                       BookingFilterState state,
+                                                       Set<BookingFilterState> states,
+                                                       Integer itemId,
+                                                       String cursor,
                                                        Integer from,
                                                        Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        Map<String, Object> parameters = BookingListQuery.parametersOf(states, itemId, cursor, from, size);
+        return get(BookingListQuery.pathOf("/owner", parameters), userId, parameters);
     }
 
     public ResponseEntity<Object> getBooking(Integer userId,
@@ -65,6 +78,11 @@ public class BookingClient extends BaseClient {
         return post("", userId, bookingIncomingDto);
     }
 
+    public ResponseEntity<Object> addBookings(Integer userId,
+                                              List<BookingIncomingDto> bookingIncomingDtos) {
+        return post("/bulk", userId, bookingIncomingDtos);
+    }
+
     public ResponseEntity<Object> approveBooking(Integer userId,
                                                  Integer bookingId,
                                                  Boolean approved) {
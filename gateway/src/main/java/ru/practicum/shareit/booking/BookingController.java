@@ -1,20 +1,25 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingFilterState;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
-import ru.practicum.shareit.exceptions.DateTimeValidationException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
-import java.time.LocalDateTime;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.Set;
 
 @Controller
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Validated
@@ -24,21 +29,25 @@ public class BookingController {
     @GetMapping
     public ResponseEntity<Object> getAllBookings(@RequestHeader("X-Sharer-User-Id") int userId,
                                                  @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                 @Positive @RequestParam(name = "itemId", required = false) Integer itemId,
+                                                 @RequestParam(name = "cursor", required = false) String cursor,
                                                  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        BookingFilterState state = BookingFilterState.from(stateParam)
+        Set<BookingFilterState> states = BookingFilterState.fromList(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getAllBookings(userId, state, from, size);
+        return bookingClient.getAllBookings(userId, states, itemId, cursor, from, size);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingByOwner(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                                                        @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                       @Positive @RequestParam(name = "itemId", required = false) Integer itemId,
+                                                       @RequestParam(name = "cursor", required = false) String cursor,
                                                        @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                        @Positive @RequestParam(defaultValue = "10") Integer size) {
-        BookingFilterState state = BookingFilterState.from(stateParam)
+        Set<BookingFilterState> states = BookingFilterState.fromList(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getAllBookingByOwner(userId, state, from, size);
+        return bookingClient.getAllBookingByOwner(userId, states, itemId, cursor, from, size);
     }
 
     @GetMapping("/{bookingId}")
@@ -50,18 +59,17 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<Object> addBooking(@RequestHeader("X-Sharer-User-Id") int userId,
                                              @RequestBody @Valid BookingIncomingDto bookingIncomingDto) {
+        BookingDatesValidator.validate(bookingIncomingDto);
 
-        if (bookingIncomingDto.getEnd().isBefore(LocalDateTime.now())
-                || bookingIncomingDto.getStart().isBefore(LocalDateTime.now())) {
-            throw new DateTimeValidationException("Дата начала/окончания бронирования не может быть в прошлом.");
-        }
+        return bookingClient.addBooking(userId, bookingIncomingDto);
+    }
 
-        if (bookingIncomingDto.getEnd().isBefore(bookingIncomingDto.getStart())
-                || bookingIncomingDto.getEnd().isEqual(bookingIncomingDto.getStart())) {
-            throw new DateTimeValidationException("Дата окончания бронирования не может быть раньше или равна дате начала.");
-        }
+    @PostMapping("/bulk")
+    public ResponseEntity<Object> addBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                              @RequestBody @NotEmpty @Size(max = 100) List<@NotNull @Valid BookingIncomingDto> bookingIncomingDtos) {
+        bookingIncomingDtos.forEach(BookingDatesValidator::validate);
 
-        return bookingClient.addBooking(userId, bookingIncomingDto);
+        return bookingClient.addBookings(userId, bookingIncomingDtos);
     }
 
     @PatchMapping("/{bookingId}")
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingIncomingDto;
+import ru.practicum.shareit.exceptions.DateTimeValidationException;
+
+import java.time.LocalDateTime;
+
+public final class BookingDatesValidator {
+    private BookingDatesValidator() {
+    }
+
+    public static void validate(BookingIncomingDto bookingIncomingDto) {
+        if (bookingIncomingDto.getEnd().isBefore(LocalDateTime.now())
+                || bookingIncomingDto.getStart().isBefore(LocalDateTime.now())) {
+            throw new DateTimeValidationException("Дата начала/окончания бронирования не может быть в прошлом.");
+        }
+
+        if (bookingIncomingDto.getEnd().isBefore(bookingIncomingDto.getStart())
+                || bookingIncomingDto.getEnd().isEqual(bookingIncomingDto.getStart())) {
+            throw new DateTimeValidationException("Дата окончания бронирования не может быть раньше или равна дате начала.");
+        }
+    }
+}
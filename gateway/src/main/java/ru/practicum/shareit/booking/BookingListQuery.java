@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingFilterState;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class BookingListQuery {
+    private BookingListQuery() {
+    }
+
+    static Map<String, Object> parametersOf(Set<BookingFilterState> states,
+                                            Integer itemId,
+                                            String cursor,
+                                            Integer from,
+                                            Integer size) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("state", states.stream()
+                .map(BookingFilterState::name)
+                .collect(Collectors.joining(",")));
+        if (itemId != null) {
+            parameters.put("itemId", itemId);
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        } else {
+            parameters.put("from", from);
+        }
+        parameters.put("size", size);
+        return parameters;
+    }
+
+    static String pathOf(String path, Map<String, Object> parameters) {
+        return parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&", path + "?", ""));
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingFilterState;
+import ru.practicum.shareit.booking.dto.BookingIncomingDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+public class BookingReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public BookingReactiveClient(@Value("${shareit-server.url}") String serverUrl,
+                                 WebClient.Builder builder,
+                                 ClientHttpConnector shareItServerHttpConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerHttpConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAllBookings(Integer userId,
+                                                       Set<BookingFilterState> states,
+                                                       Integer itemId,
+                                                       String cursor,
+                                                       Integer from,
+                                                       Integer size) {
+        Map<String, Object> parameters = BookingListQuery.parametersOf(states, itemId, cursor, from, size);
+        return get(BookingListQuery.pathOf("", parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(Integer userId,
+                                                             Set<BookingFilterState> states,
+                                                             Integer itemId,
+                                                             String cursor,
+                                                             Integer from,
+                                                             Integer size) {
+        Map<String, Object> parameters = BookingListQuery.parametersOf(states, itemId, cursor, from, size);
+        return get(BookingListQuery.pathOf("/owner", parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(Integer userId,
+                                                   Integer bookingId) {
+        Map<String, Object> parameters = Map.of(
+                "bookingId", bookingId
+        );
+        return get("/{bookingId}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addBooking(Integer userId,
+                                                   BookingIncomingDto bookingIncomingDto) {
+        return post("", userId, null, bookingIncomingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addBookings(Integer userId,
+                                                    List<BookingIncomingDto> bookingIncomingDtos) {
+        return post("/bulk", userId, null, bookingIncomingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBooking(Integer userId,
+                                                       Integer bookingId,
+                                                       Boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "bookingId", bookingId,
+                "approved", approved
+        );
+        return patch("/{bookingId}?approved={approved}", userId, parameters, null);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingFilterState;
+import ru.practicum.shareit.booking.dto.BookingIncomingDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.Set;
+
+@Controller
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Validated
+public class BookingReactiveController {
+    private final BookingReactiveClient bookingClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                       @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                       @Positive @RequestParam(name = "itemId", required = false) Integer itemId,
+                                                       @RequestParam(name = "cursor", required = false) String cursor,
+                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                       @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        Set<BookingFilterState> states = BookingFilterState.fromList(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        return bookingClient.getAllBookings(userId, states, itemId, cursor, from, size);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                             @Positive @RequestParam(name = "itemId", required = false) Integer itemId,
+                                                             @RequestParam(name = "cursor", required = false) String cursor,
+                                                             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                             @Positive @RequestParam(defaultValue = "10") Integer size) {
+        Set<BookingFilterState> states = BookingFilterState.fromList(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        return bookingClient.getAllBookingByOwner(userId, states, itemId, cursor, from, size);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                   @PathVariable Integer bookingId) {
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addBooking(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                   @RequestBody @Valid BookingIncomingDto bookingIncomingDto) {
+        BookingDatesValidator.validate(bookingIncomingDto);
+
+        return bookingClient.addBooking(userId, bookingIncomingDto);
+    }
+
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<Object>> addBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                    @RequestBody @NotEmpty @Size(max = 100) List<@NotNull @Valid BookingIncomingDto> bookingIncomingDtos) {
+        bookingIncomingDtos.forEach(BookingDatesValidator::validate);
+
+        return bookingClient.addBookings(userId, bookingIncomingDtos);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                       @PathVariable(name = "bookingId") Integer bookingId,
+                                                       @RequestParam(name = "approved") Boolean approved) {
+        return bookingClient.approveBooking(userId, bookingId, approved);
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.dto;
 
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 public enum BookingFilterState {
     ALL,
@@ -19,4 +21,17 @@ public enum BookingFilterState {
 
         return Optional.empty();
     }
+
+    public static Optional<Set<BookingFilterState>> fromList(String stringStates) {
+        Set<BookingFilterState> states = EnumSet.noneOf(BookingFilterState.class);
+        for (String stringState : stringStates.split(",")) {
+            Optional<BookingFilterState> state = from(stringState.trim());
+            if (state.isEmpty()) {
+                return Optional.empty();
+            }
+            states.add(state.get());
+        }
+
+        return Optional.of(states);
+    }
 }
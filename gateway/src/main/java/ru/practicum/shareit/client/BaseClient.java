@@ -1,18 +1,35 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.resilience.HedgedRequests;
+import ru.practicum.shareit.resilience.RouteIsolation;
 
-import java.util.List;
+import java.net.URI;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class BaseClient {
     protected final RestTemplate rest;
-
-    public BaseClient(RestTemplate rest) {
+    private final RequestCoalescer coalescer;
+    private final ResponseCache responseCache;
+    private final RouteIsolation routeIsolation;
+    private final HedgedRequests hedgedRequests;
+
+    public BaseClient(RestTemplate rest,
+                      RequestCoalescer coalescer,
+                      ResponseCache responseCache,
+                      RouteIsolation routeIsolation,
+                      HedgedRequests hedgedRequests) {
         this.rest = rest;
+        this.coalescer = coalescer;
+        this.responseCache = responseCache;
+        this.routeIsolation = routeIsolation;
+        this.hedgedRequests = hedgedRequests;
+        this.rest.setErrorHandler(new PassThroughErrorHandler());
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -30,6 +47,23 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getCached(String path,
+                                               Integer userId,
+                                               @Nullable Map<String, Object> parameters) {
+        URI uri = expand(path, parameters);
+        String key = requestKey(uri, userId);
+
+        ResponseEntity<byte[]> shareitServerResponse = coalescer.execute(key,
+                () -> responseCache.get(key, etag -> {
+                    HttpHeaders headers = ExchangeSupport.defaultHeaders(userId);
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                    return exchange(uri, HttpMethod.GET, new HttpEntity<>(headers));
+                }));
+        return ExchangeSupport.prepareGatewayResponse(shareitServerResponse);
+    }
+
     protected <T> ResponseEntity<Object> post(String path,
                                               T body) {
         return post(path, null, null, body);
@@ -104,42 +138,56 @@ public class BaseClient {
                                                           Integer userId,
                                                           @Nullable Map<String, Object> parameters,
                                                           @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, ExchangeSupport.defaultHeaders(userId));
+
+        URI uri = expand(path, parameters);
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        if (method == HttpMethod.GET) {
+            shareitServerResponse = coalescer.execute(requestKey(uri, userId),
+                    () -> exchange(uri, method, requestEntity));
+        } else {
+            shareitServerResponse = exchange(uri, method, requestEntity);
+            if (shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+                responseCache.invalidateAll();
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return ExchangeSupport.prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Integer userId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
-        }
-        return headers;
+    private ResponseEntity<byte[]> exchange(URI uri,
+                                            HttpMethod method,
+                                            HttpEntity<?> requestEntity) {
+        String route = routeOf(uri);
+        Supplier<ResponseEntity<byte[]>> upstreamCall =
+                () -> routeIsolation.execute(route, () -> rest.exchange(uri, method, requestEntity, byte[].class));
+        return method == HttpMethod.GET ? hedgedRequests.execute(route, upstreamCall) : upstreamCall.get();
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private URI expand(String path,
+                       @Nullable Map<String, Object> parameters) {
+        return rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+    }
+
+    private static String routeOf(URI uri) {
+        String path = uri.getPath();
+        int routeEnd = path.indexOf('/', 1);
+        return routeEnd > 0 ? path.substring(0, routeEnd) : path;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static String requestKey(URI uri,
+                                     Integer userId) {
+        return userId != null ? uri + "#" + userId : uri.toString();
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static class PassThroughErrorHandler implements ResponseErrorHandler {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
         }
 
-        return responseBuilder.build();
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "h2c")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class Http2ClientConfig {
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    @Bean(destroyMethod = "evictAll")
+    public ConnectionPool shareItServerConnectionPool(HttpClientProperties properties) {
+        return new ConnectionPool(properties.getMaxPerRoute(), properties.getMaxIdleTime().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Bean
+    public OkHttpClient shareItServerHttpClient(ConnectionPool shareItServerConnectionPool,
+                                                HttpClientProperties properties) {
+        return new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+                .connectionPool(shareItServerConnectionPool)
+                .connectTimeout(properties.getConnectTimeout())
+                .readTimeout(properties.getSocketTimeout())
+                .writeTimeout(properties.getSocketTimeout())
+                .pingInterval(properties.getKeepAlive())
+                .addInterceptor(chain -> {
+                    UpstreamAttempt.bind(chain.call()::cancel);
+                    return chain.proceed(chain.request());
+                })
+                .addNetworkInterceptor(chain -> {
+                    activeStreams.incrementAndGet();
+                    try {
+                        return chain.proceed(chain.request());
+                    } finally {
+                        activeStreams.decrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(OkHttpClient shareItServerHttpClient) {
+        return new OkHttp3ClientHttpRequestFactory(shareItServerHttpClient);
+    }
+
+    @Bean
+    public MeterBinder shareItServerHttp2Metrics(ConnectionPool shareItServerConnectionPool) {
+        return registry -> {
+            Gauge.builder("shareit.server.h2.connections", shareItServerConnectionPool,
+                            ConnectionPool::connectionCount)
+                    .tag("state", "open")
+                    .description("HTTP/2 connections to shareit-server")
+                    .register(registry);
+            Gauge.builder("shareit.server.h2.connections", shareItServerConnectionPool,
+                            ConnectionPool::idleConnectionCount)
+                    .tag("state", "idle")
+                    .description("HTTP/2 connections to shareit-server")
+                    .register(registry);
+            Gauge.builder("shareit.server.h2.streams", activeStreams, AtomicInteger::get)
+                    .tag("state", "active")
+                    .description("HTTP/2 streams to shareit-server awaiting a response")
+                    .register(registry);
+        };
+    }
+}
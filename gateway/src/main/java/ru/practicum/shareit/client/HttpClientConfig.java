@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.transport", havingValue = "http1", matchIfMissing = true)
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       HttpClientProperties properties) {
+        long keepAliveMillis = properties.getKeepAlive().toMillis();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout((int) properties.getLeaseTimeout().toMillis())
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getSocketTimeout().toMillis())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient) {
+            @Override
+            protected void postProcessHttpRequest(HttpUriRequest request) {
+                UpstreamAttempt.bind(request::abort);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder shareItServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            registerPoolGauge(registry, connectionManager, "leased", PoolStats::getLeased);
+            registerPoolGauge(registry, connectionManager, "pending", PoolStats::getPending);
+            registerPoolGauge(registry, connectionManager, "available", PoolStats::getAvailable);
+            registerPoolGauge(registry, connectionManager, "max", PoolStats::getMax);
+        };
+    }
+
+    private static void registerPoolGauge(MeterRegistry registry,
+                                          PoolingHttpClientConnectionManager connectionManager,
+                                          String state,
+                                          ToIntFunction<PoolStats> statsValue) {
+        Gauge.builder("shareit.server.connections", connectionManager,
+                        manager -> statsValue.applyAsInt(manager.getTotalStats()))
+                .tag("state", state)
+                .description("Connections to shareit-server in the shared gateway pool")
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveClientConfig {
+    public ReactiveClientConfig(Environment environment) {
+        List<String> bypassed = new ArrayList<>();
+        if (isEnabled(environment, "shareit-gateway.coalescing.enabled")) {
+            bypassed.add("request coalescing");
+        }
+        if (isEnabled(environment, "shareit-gateway.cache.enabled")) {
+            bypassed.add("response cache");
+        }
+        if (isEnabled(environment, "shareit-gateway.resilience.enabled")) {
+            bypassed.add("circuit breakers and bulkheads");
+        }
+        if (isEnabled(environment, "shareit-gateway.hedging.enabled")) {
+            bypassed.add("hedged requests and retries");
+        }
+        if (!bypassed.isEmpty()) {
+            log.warn("shareit-gateway.client-mode=reactive does not apply {}, they work with the blocking client only",
+                    String.join(", ", bypassed));
+        }
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getLeaseTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+    }
+
+    private static boolean isEnabled(Environment environment, String property) {
+        return environment.getProperty(property, Boolean.class, true);
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerHttpConnector(ConnectionProvider shareItServerConnectionProvider,
+                                                          HttpClientProperties properties,
+                                                          @Value("${shareit-server.transport:http1}") String transport) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .protocol("h2c".equals(transport) ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getSocketTimeout());
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
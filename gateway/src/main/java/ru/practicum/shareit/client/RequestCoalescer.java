@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter upstreamRequests;
+    private final Counter coalescedRequests;
+
+    public RequestCoalescer(@Value("${shareit-gateway.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.upstreamRequests = Counter.builder("shareit.gateway.coalescing.requests")
+                .tag("result", "upstream")
+                .description("GETs to shareit-server by whether they were coalesced into an identical in-flight call")
+                .register(registry);
+        this.coalescedRequests = Counter.builder("shareit.gateway.coalescing.requests")
+                .tag("result", "coalesced")
+                .description("GETs to shareit-server by whether they were coalesced into an identical in-flight call")
+                .register(registry);
+    }
+
+    public ResponseEntity<byte[]> execute(String key, Supplier<ResponseEntity<byte[]>> upstreamCall) {
+        if (!enabled) {
+            return upstreamCall.get();
+        }
+
+        CompletableFuture<ResponseEntity<byte[]>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<byte[]>> leaderCall = inFlight.putIfAbsent(key, call);
+        if (leaderCall != null) {
+            coalescedRequests.increment();
+            return awaitLeader(leaderCall);
+        }
+
+        upstreamRequests.increment();
+        try {
+            ResponseEntity<byte[]> response = upstreamCall.get();
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static ResponseEntity<byte[]> awaitLeader(CompletableFuture<ResponseEntity<byte[]>> leaderCall) {
+        try {
+            return leaderCall.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class ResponseCache {
+    private static final String METRIC_NAME = "shareit.gateway.cache.requests";
+    private static final String METRIC_DESCRIPTION = "Cacheable GETs to shareit-server by cache outcome";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<String, CachedResponse> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidated;
+    private final Counter replaced;
+
+    public ResponseCache(@Value("${shareit-gateway.cache.enabled:true}") boolean enabled,
+                         @Value("${shareit-gateway.cache.max-entries:10000}") int maxEntries,
+                         @Value("${shareit-gateway.cache.ttl:5s}") Duration ttl,
+                         MeterRegistry registry) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return super.size() > maxEntries;
+            }
+        };
+        this.hits = registerCounter(registry, "hit");
+        this.misses = registerCounter(registry, "miss");
+        this.revalidated = registerCounter(registry, "revalidated");
+        this.replaced = registerCounter(registry, "replaced");
+        Gauge.builder("shareit.gateway.cache.size", this, ResponseCache::size)
+                .description("Responses held in the gateway cache")
+                .register(registry);
+    }
+
+    public ResponseEntity<byte[]> get(String key, Function<String, ResponseEntity<byte[]>> upstreamCall) {
+        if (!enabled) {
+            return upstreamCall.apply(null);
+        }
+
+        long currentGeneration = generation.get();
+        CachedResponse cached = lookup(key);
+        if (cached != null && cached.isFresh(currentGeneration, ttlNanos)) {
+            hits.increment();
+            return cached.response;
+        }
+
+        ResponseEntity<byte[]> response = upstreamCall.apply(cached != null ? cached.etag : null);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            revalidated.increment();
+            store(key, new CachedResponse(cached.response, cached.etag, currentGeneration));
+            return cached.response;
+        }
+
+        if (cached != null) {
+            replaced.increment();
+        } else {
+            misses.increment();
+        }
+
+        String etag = response.getHeaders().getETag();
+        if (response.getStatusCode() == HttpStatus.OK && etag != null) {
+            store(key, new CachedResponse(response, etag, currentGeneration));
+        } else if (cached != null) {
+            remove(key);
+        }
+        return response;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    private synchronized CachedResponse lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    private synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private static Counter registerCounter(MeterRegistry registry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("result", result)
+                .description(METRIC_DESCRIPTION)
+                .register(registry);
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedResponse {
+        private final ResponseEntity<byte[]> response;
+        private final String etag;
+        private final long generation;
+        private final long storedAt = System.nanoTime();
+
+        private boolean isFresh(long currentGeneration, long ttlNanos) {
+            return generation == currentGeneration && System.nanoTime() - storedAt < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public class SmileTranscodingInterceptor implements ClientHttpRequestInterceptor {
+    static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request,
+                                        byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        headers.setAccept(List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON));
+
+        byte[] requestBody = body;
+        if (body.length > 0 && MediaType.APPLICATION_JSON.isCompatibleWith(headers.getContentType())) {
+            requestBody = transcode(jsonFactory, smileFactory, body);
+            headers.setContentType(APPLICATION_SMILE);
+            headers.setContentLength(requestBody.length);
+        }
+
+        ClientHttpResponse response = execution.execute(request, requestBody);
+        if (!APPLICATION_SMILE.isCompatibleWith(response.getHeaders().getContentType())) {
+            return response;
+        }
+
+        byte[] jsonBody;
+        try (response) {
+            jsonBody = transcode(smileFactory, jsonFactory, StreamUtils.copyToByteArray(response.getBody()));
+        }
+        return new TranscodedResponse(response, jsonBody);
+    }
+
+    private static byte[] transcode(JsonFactory from, JsonFactory to, byte[] source) throws IOException {
+        if (source.length == 0) {
+            return source;
+        }
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream(source.length * 2);
+        try (JsonParser parser = from.createParser(source);
+             JsonGenerator generator = to.createGenerator(target)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        return target.toByteArray();
+    }
+
+    private static class TranscodedResponse implements ClientHttpResponse {
+        private final HttpStatus statusCode;
+        private final int rawStatusCode;
+        private final String statusText;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+
+        private TranscodedResponse(ClientHttpResponse response, byte[] body) throws IOException {
+            this.statusCode = response.getStatusCode();
+            this.rawStatusCode = response.getRawStatusCode();
+            this.statusText = response.getStatusText();
+            this.headers.putAll(response.getHeaders());
+            this.headers.setContentType(MediaType.APPLICATION_JSON);
+            this.headers.setContentLength(body.length);
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return rawStatusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
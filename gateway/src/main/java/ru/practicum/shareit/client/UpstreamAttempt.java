@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+public final class UpstreamAttempt {
+    private static final ThreadLocal<UpstreamAttempt> CURRENT = new ThreadLocal<>();
+
+    private final List<UpstreamAttempt> children = new CopyOnWriteArrayList<>();
+    private volatile Runnable abort;
+    private volatile boolean cancelled;
+
+    public static boolean isCurrentCancelled() {
+        UpstreamAttempt attempt = CURRENT.get();
+        return attempt != null && attempt.cancelled;
+    }
+
+    public static UpstreamAttempt childOfCurrent() {
+        UpstreamAttempt child = new UpstreamAttempt();
+        UpstreamAttempt parent = CURRENT.get();
+        if (parent != null) {
+            parent.children.add(child);
+            if (parent.cancelled) {
+                child.cancel();
+            }
+        }
+        return child;
+    }
+
+    static void bind(Runnable abort) {
+        UpstreamAttempt attempt = CURRENT.get();
+        if (attempt != null) {
+            attempt.abort = abort;
+            if (attempt.cancelled) {
+                abort.run();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public <T> T run(Supplier<T> call) {
+        UpstreamAttempt previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        Runnable boundAbort = abort;
+        if (boundAbort != null) {
+            boundAbort.run();
+        }
+        children.forEach(UpstreamAttempt::cancel);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.wire-format", havingValue = "smile")
+public class WireFormatConfig {
+    @Bean
+    public RestTemplateCustomizer smileWireFormatCustomizer() {
+        SmileTranscodingInterceptor interceptor = new SmileTranscodingInterceptor();
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class NestedBatchException extends RuntimeException {
+    public NestedBatchException(final String message) {
+        super(message);
+    }
+}
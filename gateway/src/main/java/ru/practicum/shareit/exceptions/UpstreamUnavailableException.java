@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(final String message) {
+        super(message);
+    }
+}
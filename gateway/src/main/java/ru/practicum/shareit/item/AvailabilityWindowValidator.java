@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.exceptions.DateTimeValidationException;
+
+import java.time.LocalDateTime;
+
+public final class AvailabilityWindowValidator {
+    private AvailabilityWindowValidator() {
+    }
+
+    public static void validate(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new DateTimeValidationException("Дата окончания периода не может быть раньше или равна дате начала.");
+        }
+    }
+
+    public static boolean validateOptional(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return false;
+        }
+        if (from == null || to == null) {
+            throw new DateTimeValidationException("Для поиска по свободному периоду нужно указать и дату начала, и дату окончания.");
+        }
+        validate(from, to);
+        return true;
+    }
+}
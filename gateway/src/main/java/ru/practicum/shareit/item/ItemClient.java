@@ -2,36 +2,61 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.resilience.HedgedRequests;
+import ru.practicum.shareit.resilience.RouteIsolation;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder builder) {
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory,
+                      RequestCoalescer coalescer,
+                      ResponseCache responseCache,
+                      RouteIsolation routeIsolation,
+                      HedgedRequests hedgedRequests) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                coalescer,
+                responseCache,
+                routeIsolation,
+                hedgedRequests
         );
     }
 
     public ResponseEntity<Object> getAllItems(Integer userId,
+                                              String cursor,
                                               Integer from,
                                               Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("?cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,18 +69,67 @@ public class ItemClient extends BaseClient {
         Map<String, Object> parameters = Map.of(
                 "itemId", itemId
         );
-        return get("/{itemId}", userId, parameters);
+        return getCached("/{itemId}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(Integer userId,
+                                                  Integer itemId,
+                                                  LocalDateTime from,
+                                                  LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "from", from,
+                "to", to
+        );
+        return getCached("/{itemId}/availability?from={from}&to={to}", userId, parameters);
     }
 
     public ResponseEntity<Object> searchItems(String text,
+                                              String cursor,
                                               Integer from,
                                               Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return getCached("/search?text={text}&cursor={cursor}&size={size}", null, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return getCached("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> searchItemsFreeInWindow(String text,
+                                                          LocalDateTime start,
+                                                          LocalDateTime end,
+                                                          String cursor,
+                                                          Integer from,
+                                                          Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "start", start,
+                    "end", end,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return getCached("/search?text={text}&start={start}&end={end}&cursor={cursor}&size={size}", null, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "text", text,
+                "start", start,
+                "end", end,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return getCached("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> addItem(Integer userId,
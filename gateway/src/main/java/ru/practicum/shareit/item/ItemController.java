@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -12,8 +14,10 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @RestController
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
@@ -22,9 +26,10 @@ public class ItemController {
 
     @GetMapping
     public ResponseEntity<Object> getAllItems(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
                                               @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
-        return itemClient.getAllItems(userId, from, size);
+        return itemClient.getAllItems(userId, cursor, from, size);
     }
 
     @GetMapping("/{id}")
@@ -33,11 +38,27 @@ public class ItemController {
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                  @PathVariable(name = "id") Integer itemId,
+                                                  @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AvailabilityWindowValidator.validate(from, to);
+
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestParam(name = "text") String text,
+                                              @RequestParam(name = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam(name = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
                                               @PositiveOrZero @RequestParam(defaultValue = "0") @Min(0) Integer from,
                                               @Positive @RequestParam(defaultValue = "10") Integer size) {
-        return itemClient.searchItems(text, from, size);
+        if (AvailabilityWindowValidator.validateOptional(start, end)) {
+            return itemClient.searchItemsFreeInWindow(text, start, end, cursor, from, size);
+        }
+        return itemClient.searchItems(text, cursor, from, size);
     }
 
     @PostMapping
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+public class ItemReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ItemReactiveClient(@Value("${shareit-server.url}") String serverUrl,
+                              WebClient.Builder builder,
+                              ClientHttpConnector shareItServerHttpConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerHttpConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAllItems(Integer userId,
+                                                    String cursor,
+                                                    Integer from,
+                                                    Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("?cursor={cursor}&size={size}", userId, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(Integer userId,
+                                                Integer itemId) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId
+        );
+        return get("/{itemId}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(Integer userId,
+                                                        Integer itemId,
+                                                        LocalDateTime from,
+                                                        LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "from", from,
+                "to", to
+        );
+        return get("/{itemId}/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItems(String text,
+                                                    String cursor,
+                                                    Integer from,
+                                                    Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/search?text={text}&cursor={cursor}&size={size}", null, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItemsFreeInWindow(String text,
+                                                                LocalDateTime start,
+                                                                LocalDateTime end,
+                                                                String cursor,
+                                                                Integer from,
+                                                                Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "start", start,
+                    "end", end,
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/search?text={text}&start={start}&end={end}&cursor={cursor}&size={size}", null, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addItem(Integer userId,
+                                                ItemDto itemDto) {
+        return post("", userId, null, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Integer userId,
+                                                   Integer itemId,
+                                                   CommentCreateDto commentCreateDto) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId
+        );
+        return post("/{itemId}/comment", userId, parameters, commentCreateDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(Integer itemId,
+                                                   Integer userId,
+                                                   ItemUpdateDto itemUpdateDto) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId
+        );
+        return patch("/{itemId}", userId, parameters, itemUpdateDto);
+    }
+}
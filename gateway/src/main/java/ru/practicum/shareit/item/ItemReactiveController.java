@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Validated
+public class ItemReactiveController {
+    private final ItemReactiveClient itemClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllItems(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(defaultValue = "10") Integer size) {
+        return itemClient.getAllItems(userId, cursor, from, size);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                @PathVariable(name = "id") Integer itemId) {
+        return itemClient.getItem(userId, itemId);
+    }
+
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                        @PathVariable(name = "id") Integer itemId,
+                                                        @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        AvailabilityWindowValidator.validate(from, to);
+
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam(name = "text") String text,
+                                                    @RequestParam(name = "start", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                    @RequestParam(name = "end", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @PositiveOrZero @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                    @Positive @RequestParam(defaultValue = "10") Integer size) {
+        if (AvailabilityWindowValidator.validateOptional(start, end)) {
+            return itemClient.searchItemsFreeInWindow(text, start, end, cursor, from, size);
+        }
+        return itemClient.searchItems(text, cursor, from, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                @Valid @RequestBody ItemDto itemDto) {
+        return itemClient.addItem(userId, itemDto);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                   @PathVariable(name = "itemId") Integer itemId,
+                                                   @Valid @RequestBody CommentCreateDto commentCreateDto) {
+        return itemClient.addComment(userId, itemId, commentCreateDto);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable(name = "itemId") Integer itemId,
+                                                   @RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                   @RequestBody ItemUpdateDto itemUpdateDto) {
+        return itemClient.updateItem(itemId, userId, itemUpdateDto);
+    }
+}
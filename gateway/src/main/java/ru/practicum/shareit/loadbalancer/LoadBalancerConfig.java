@@ -0,0 +1,47 @@
+package ru.practicum.shareit.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+@Configuration
+@Conditional(LoadBalancerConfig.InstancesConfigured.class)
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class LoadBalancerConfig {
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ServerInstanceBalancer shareItServerBalancer(LoadBalancerProperties properties,
+                                                        MeterRegistry registry) {
+        return new ServerInstanceBalancer(properties, registry);
+    }
+
+    @Bean
+    public RestTemplateCustomizer loadBalancingRestTemplateCustomizer(ServerInstanceBalancer shareItServerBalancer) {
+        LoadBalancingInterceptor interceptor = new LoadBalancingInterceptor(shareItServerBalancer);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    public WebClientCustomizer loadBalancingWebClientCustomizer(ServerInstanceBalancer shareItServerBalancer) {
+        LoadBalancingExchangeFilter filter = new LoadBalancingExchangeFilter(shareItServerBalancer);
+        return builder -> builder.filter(filter);
+    }
+
+    static class InstancesConfigured implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return Binder.get(context.getEnvironment())
+                    .bind("shareit-server.load-balancer.instances", Bindable.listOf(String.class))
+                    .map(instances -> !instances.isEmpty())
+                    .orElse(false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.loadbalancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.load-balancer")
+public class LoadBalancerProperties {
+    private List<URI> instances = new ArrayList<>();
+    private Strategy strategy = Strategy.POWER_OF_TWO_CHOICES;
+    private String healthCheckPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    private int unhealthyThreshold = 2;
+    private int healthyThreshold = 1;
+    private int consecutiveErrors = 5;
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+    private int maxEjectionPercent = 50;
+
+    public enum Strategy {
+        LEAST_OUTSTANDING, POWER_OF_TWO_CHOICES
+    }
+}
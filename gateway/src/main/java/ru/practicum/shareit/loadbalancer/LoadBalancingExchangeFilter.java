@@ -0,0 +1,39 @@
+package ru.practicum.shareit.loadbalancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+public class LoadBalancingExchangeFilter implements ExchangeFilterFunction {
+    private final ServerInstanceBalancer balancer;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServerInstance instance = balancer.choose();
+            ClientRequest balancedRequest = ClientRequest.from(request)
+                    .url(instance.target(request.url()))
+                    .build();
+
+            instance.getOutstanding().incrementAndGet();
+            long startedAt = System.nanoTime();
+            AtomicInteger status = new AtomicInteger(-1);
+            return next.exchange(balancedRequest)
+                    .doOnNext(response -> status.set(response.rawStatusCode()))
+                    .doFinally(signal -> {
+                        instance.getOutstanding().decrementAndGet();
+                        if (signal != SignalType.CANCEL) {
+                            balancer.onResponse(instance, System.nanoTime() - startedAt,
+                                    status.get() < 0 || status.get() >= 500);
+                        }
+                    });
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.loadbalancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import ru.practicum.shareit.client.UpstreamAttempt;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RequiredArgsConstructor
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    private final ServerInstanceBalancer balancer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request,
+                                        byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        ServerInstance instance = balancer.choose();
+        URI target = instance.target(request.getURI());
+        HttpRequest balancedRequest = new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return target;
+            }
+        };
+
+        instance.getOutstanding().incrementAndGet();
+        long startedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(balancedRequest, body);
+            failed = response.getRawStatusCode() >= 500;
+            return response;
+        } finally {
+            instance.getOutstanding().decrementAndGet();
+            if (!UpstreamAttempt.isCurrentCancelled()) {
+                balancer.onResponse(instance, System.nanoTime() - startedAt, failed);
+            }
+        }
+    }
+}
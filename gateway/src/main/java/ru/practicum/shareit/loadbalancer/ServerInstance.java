@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadbalancer;
+
+import lombok.Getter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ServerInstance {
+    @Getter
+    private final URI baseUri;
+    @Getter
+    private final String id;
+    @Getter
+    private final AtomicInteger outstanding = new AtomicInteger();
+    @Getter
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntil;
+    private int consecutiveErrors;
+    private int ejections;
+    private int healthCheckFailures;
+    private int healthCheckSuccesses;
+
+    ServerInstance(URI baseUri) {
+        this.baseUri = baseUri;
+        this.id = baseUri.getHost() + ":" + baseUri.getPort();
+    }
+
+    URI target(URI logicalUri) {
+        String basePath = baseUri.getRawPath() != null ? baseUri.getRawPath().replaceAll("/+$", "") : "";
+        String logicalPath = logicalUri.getRawPath() != null ? logicalUri.getRawPath() : "";
+        return UriComponentsBuilder.fromUri(logicalUri)
+                .scheme(baseUri.getScheme())
+                .host(baseUri.getHost())
+                .port(baseUri.getPort())
+                .replacePath(basePath + logicalPath)
+                .build(true)
+                .toUri();
+    }
+
+    boolean isAvailable(long now) {
+        return healthy && !isEjected(now);
+    }
+
+    boolean isEjected(long now) {
+        return now - ejectedUntil < 0;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveErrors = 0;
+        ejections = 0;
+    }
+
+    synchronized int onError() {
+        return ++consecutiveErrors;
+    }
+
+    synchronized long eject(long now, long baseEjectionNanos, long maxEjectionNanos) {
+        ejections++;
+        consecutiveErrors = 0;
+        long ejectionNanos = Math.min(maxEjectionNanos, baseEjectionNanos * ejections);
+        ejectedUntil = now + ejectionNanos;
+        return ejectionNanos;
+    }
+
+    synchronized boolean onHealthCheck(boolean passed, int healthyThreshold, int unhealthyThreshold) {
+        boolean wasHealthy = healthy;
+        if (passed) {
+            healthCheckFailures = 0;
+            if (++healthCheckSuccesses >= healthyThreshold) {
+                healthy = true;
+            }
+        } else {
+            healthCheckSuccesses = 0;
+            if (++healthCheckFailures >= unhealthyThreshold) {
+                healthy = false;
+            }
+        }
+        return wasHealthy != healthy;
+    }
+}
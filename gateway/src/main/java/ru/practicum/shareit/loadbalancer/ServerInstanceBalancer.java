@@ -0,0 +1,160 @@
+package ru.practicum.shareit.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class ServerInstanceBalancer {
+    private final LoadBalancerProperties properties;
+    private final MeterRegistry registry;
+    @Getter(AccessLevel.PACKAGE)
+    private final List<ServerInstance> instances;
+    private final Map<ServerInstance, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final HttpClient healthCheckClient;
+    private final ScheduledExecutorService healthCheckScheduler;
+
+    public ServerInstanceBalancer(LoadBalancerProperties properties,
+                                  MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.instances = properties.getInstances().stream()
+                .map(ServerInstance::new)
+                .collect(Collectors.toUnmodifiableList());
+        this.healthCheckClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getHealthCheckTimeout())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.healthCheckScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        instances.forEach(this::registerMetrics);
+    }
+
+    public void start() {
+        long intervalMillis = properties.getHealthCheckInterval().toMillis();
+        healthCheckScheduler.scheduleWithFixedDelay(this::checkHealth, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        healthCheckScheduler.shutdownNow();
+    }
+
+    ServerInstance choose() {
+        long now = System.nanoTime();
+        List<ServerInstance> candidates = instances.stream()
+                .filter(instance -> instance.isAvailable(now))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            candidates = new ArrayList<>(instances);
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        if (properties.getStrategy() == LoadBalancerProperties.Strategy.LEAST_OUTSTANDING) {
+            ServerInstance best = null;
+            int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                ServerInstance candidate = candidates.get((offset + i) % candidates.size());
+                if (best == null || candidate.getOutstanding().get() < best.getOutstanding().get()) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerInstance a = candidates.get(first);
+        ServerInstance b = candidates.get(second);
+        return a.getOutstanding().get() <= b.getOutstanding().get() ? a : b;
+    }
+
+    void onResponse(ServerInstance instance, long durationNanos, boolean failed) {
+        latencyTimers.get(instance).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!failed) {
+            instance.onSuccess();
+            return;
+        }
+
+        if (instance.onError() >= properties.getConsecutiveErrors()) {
+            long now = System.nanoTime();
+            if (ejectedCount(now) * 100 < properties.getMaxEjectionPercent() * instances.size()) {
+                long ejectionNanos = instance.eject(now, properties.getBaseEjectionTime().toNanos(),
+                        properties.getMaxEjectionTime().toNanos());
+                log.warn("Ejected shareit-server instance {} for {} ms", instance.getId(),
+                        TimeUnit.NANOSECONDS.toMillis(ejectionNanos));
+                Counter.builder("shareit.server.instance.ejections")
+                        .tag("instance", instance.getId())
+                        .description("Outlier ejections of a shareit-server instance")
+                        .register(registry)
+                        .increment();
+            }
+        }
+    }
+
+    private long ejectedCount(long now) {
+        return instances.stream().filter(instance -> instance.isEjected(now)).count();
+    }
+
+    private void checkHealth() {
+        for (ServerInstance instance : instances) {
+            HttpRequest request = HttpRequest.newBuilder(instance.target(URI.create(properties.getHealthCheckPath())))
+                    .timeout(properties.getHealthCheckTimeout())
+                    .GET()
+                    .build();
+            healthCheckClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        boolean passed = error == null && response.statusCode() == 200;
+                        if (instance.onHealthCheck(passed, properties.getHealthyThreshold(),
+                                properties.getUnhealthyThreshold())) {
+                            log.warn("shareit-server instance {} is now {}", instance.getId(),
+                                    instance.isHealthy() ? "healthy" : "unhealthy");
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    private void registerMetrics(ServerInstance instance) {
+        latencyTimers.put(instance, Timer.builder("shareit.server.instance.latency")
+                .tag("instance", instance.getId())
+                .description("Response time of a shareit-server instance as seen by the gateway")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+        Gauge.builder("shareit.server.instance.outstanding", instance.getOutstanding(), Number::intValue)
+                .tag("instance", instance.getId())
+                .description("Requests in flight to a shareit-server instance")
+                .register(registry);
+        Gauge.builder("shareit.server.instance.available", instance, i -> i.isAvailable(System.nanoTime()) ? 1 : 0)
+                .tag("instance", instance.getId())
+                .description("Whether a shareit-server instance receives traffic (healthy and not ejected)")
+                .register(registry);
+    }
+}
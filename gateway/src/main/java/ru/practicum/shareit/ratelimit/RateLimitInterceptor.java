@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exceptions.TooManyRequestsException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request,
+                             HttpServletResponse response,
+                             Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : request.getRequestURI();
+
+        String userId = request.getHeader("X-Sharer-User-Id");
+        String client = userId != null ? userId : request.getRemoteAddr();
+
+        long retryAfterSeconds = rateLimiter.tryAcquire(route, client);
+        if (retryAfterSeconds > 0) {
+            throw new TooManyRequestsException("Too many requests to " + route, retryAfterSeconds);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int maxBuckets = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(1);
+    private Limit defaultLimit = new Limit();
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public Limit limitFor(String route) {
+        return routes.getOrDefault(route, defaultLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+    }
+}
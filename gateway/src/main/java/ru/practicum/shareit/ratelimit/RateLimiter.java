@@ -0,0 +1,89 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class RateLimiter {
+    private static final long FORCED_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> overflowBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> throttledCounters = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt;
+    private final AtomicLong nextForcedSweepAt = new AtomicLong(System.nanoTime());
+    private final long idleNanos;
+
+    public RateLimiter(RateLimitProperties properties,
+                       MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.nextSweepAt = new AtomicLong(System.nanoTime() + idleNanos);
+        Gauge.builder("shareit.gateway.rate-limit.buckets", buckets, ConcurrentMap::size)
+                .description("Token buckets currently tracked by the gateway rate limiter")
+                .register(registry);
+    }
+
+    public long tryAcquire(String route, String client) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        sweepIdleBuckets(now);
+
+        String key = route + "|" + client;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets() && !sweepWhenFull(now)) {
+                bucket = overflowBuckets.computeIfAbsent(route, r -> new TokenBucket(properties.limitFor(r), now));
+            } else {
+                bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(properties.limitFor(route), now));
+            }
+        }
+
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            throttledCounters.computeIfAbsent(route, this::registerThrottledCounter).increment();
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+        return 0;
+    }
+
+    private void sweepIdleBuckets(long now) {
+        long sweepAt = nextSweepAt.get();
+        if (now - sweepAt >= 0 && nextSweepAt.compareAndSet(sweepAt, now + idleNanos)) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        }
+    }
+
+    private boolean sweepWhenFull(long now) {
+        long sweepAt = nextForcedSweepAt.get();
+        if (now - sweepAt >= 0 && nextForcedSweepAt.compareAndSet(sweepAt, now + FORCED_SWEEP_INTERVAL_NANOS)) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                log.warn("Rate limiter holds {} buckets, new clients share a bucket per route", buckets.size());
+            }
+        }
+        return buckets.size() < properties.getMaxBuckets();
+    }
+
+    private Counter registerThrottledCounter(String route) {
+        return Counter.builder("shareit.gateway.rate-limit.throttled")
+                .tag("route", route)
+                .description("Requests rejected by the gateway rate limiter")
+                .register(registry);
+    }
+}
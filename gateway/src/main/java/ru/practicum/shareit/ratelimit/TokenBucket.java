@@ -0,0 +1,41 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.capacity = limit.getCapacity();
+        this.tokensPerNano = limit.getRefillPerSecond() / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    long tryAcquire(long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens + (now - current.refilledAt) * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long now, long idleNanos) {
+        long untouched = now - state.get().refilledAt;
+        return untouched >= idleNanos && untouched * tokensPerNano >= capacity;
+    }
+
+    @RequiredArgsConstructor
+    private static class State {
+        private final double tokens;
+        private final long refilledAt;
+    }
+}
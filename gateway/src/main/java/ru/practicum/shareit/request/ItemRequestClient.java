@@ -2,28 +2,43 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.resilience.HedgedRequests;
+import ru.practicum.shareit.resilience.RouteIsolation;
 
 import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
     public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
-                             RestTemplateBuilder builder) {
+                             RestTemplateBuilder builder,
+                             ClientHttpRequestFactory shareItServerRequestFactory,
+                             RequestCoalescer coalescer,
+                             ResponseCache responseCache,
+                             RouteIsolation routeIsolation,
+                             HedgedRequests hedgedRequests) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                coalescer,
+                responseCache,
+                routeIsolation,
+                hedgedRequests
         );
     }
 
@@ -40,8 +55,17 @@ public class ItemRequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getAllItemRequests(Integer userId,
+                                                     String cursor,
                                                      Integer from,
                                                      Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/all?cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -12,6 +13,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @Controller
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Validated
@@ -31,9 +33,10 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public ResponseEntity<Object> getAllItemRequests(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                     @RequestParam(name = "cursor", required = false) String cursor,
                                                      @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
                                                      @Positive @RequestParam(defaultValue = "10") Integer size) {
-        return itemRequestClient.getAllItemRequests(userId, from, size);
+        return itemRequestClient.getAllItemRequests(userId, cursor, from, size);
     }
 
     @PostMapping
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+public class ItemRequestReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ItemRequestReactiveClient(@Value("${shareit-server.url}") String serverUrl,
+                                     WebClient.Builder builder,
+                                     ClientHttpConnector shareItServerHttpConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerHttpConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequests(Integer userId) {
+        return get("", userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequest(Integer userId,
+                                                       Integer itemRequestId) {
+        Map<String, Object> parameters = Map.of(
+                "itemRequestId", itemRequestId
+        );
+        return get("/{itemRequestId}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllItemRequests(Integer userId,
+                                                           String cursor,
+                                                           Integer from,
+                                                           Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "cursor", cursor,
+                    "size", size
+            );
+            return get("/all?cursor={cursor}&size={size}", userId, parameters);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addItemRequest(Integer userId,
+                                                       ItemRequestCreateDto itemRequestCreateDto) {
+        return post("", userId, null, itemRequestCreateDto);
+    }
+}
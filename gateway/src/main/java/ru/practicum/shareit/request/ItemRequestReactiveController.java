@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Validated
+public class ItemRequestReactiveController {
+    private final ItemRequestReactiveClient itemRequestClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getItemRequests(@RequestHeader(name = "X-Sharer-User-Id") Integer userId) {
+        return itemRequestClient.getItemRequests(userId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getItemRequest(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                       @PathVariable(name = "id") Integer itemRequestId) {
+        return itemRequestClient.getItemRequest(userId, itemRequestId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllItemRequests(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                           @RequestParam(name = "cursor", required = false) String cursor,
+                                                           @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                           @Positive @RequestParam(defaultValue = "10") Integer size) {
+        return itemRequestClient.getAllItemRequests(userId, cursor, from, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addItemRequest(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                       @Valid @RequestBody ItemRequestCreateDto itemRequestCreateDto) {
+        return itemRequestClient.addItemRequest(userId, itemRequestCreateDto);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.resilience;
+
+import java.util.function.BiConsumer;
+
+class CircuitBreaker {
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final ResilienceProperties.Settings settings;
+    private final BiConsumer<State, State> onTransition;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int recordedCalls;
+    private int nextSlot;
+    private int failures;
+    private int slowOnes;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    CircuitBreaker(ResilienceProperties.Settings settings,
+                   BiConsumer<State, State> onTransition) {
+        this.settings = settings;
+        this.onTransition = onTransition;
+        this.failedCalls = new boolean[settings.getSlidingWindowSize()];
+        this.slowCalls = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    boolean tryAcquirePermission(long now) {
+        Transition transition = null;
+        boolean permitted;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (now - openedAt < settings.getOpenDuration().toNanos()) {
+                    return false;
+                }
+                transition = transitionTo(State.HALF_OPEN, now);
+            }
+            permitted = state != State.HALF_OPEN || halfOpenPermits > 0;
+            if (permitted && state == State.HALF_OPEN) {
+                halfOpenPermits--;
+            }
+        }
+        notifyTransition(transition);
+        return permitted;
+    }
+
+    synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits + recordedCalls < settings.getHalfOpenCalls()) {
+            halfOpenPermits++;
+        }
+    }
+
+    void onResult(boolean failed, long durationNanos, long now) {
+        Transition transition = null;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                return;
+            }
+
+            boolean slow = durationNanos >= settings.getSlowCallDuration().toNanos();
+            record(failed, slow);
+
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transition = transitionTo(State.OPEN, now);
+                } else if (recordedCalls == settings.getHalfOpenCalls()) {
+                    transition = transitionTo(State.CLOSED, now);
+                }
+            } else if (recordedCalls >= settings.getMinimumCalls() && isOverThreshold()) {
+                transition = transitionTo(State.OPEN, now);
+            }
+        }
+        notifyTransition(transition);
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            failures -= failedCalls[nextSlot] ? 1 : 0;
+            slowOnes -= slowCalls[nextSlot] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextSlot] = failed;
+        slowCalls[nextSlot] = slow;
+        failures += failed ? 1 : 0;
+        slowOnes += slow ? 1 : 0;
+        nextSlot = (nextSlot + 1) % failedCalls.length;
+    }
+
+    private boolean isOverThreshold() {
+        return failures * 100 >= settings.getFailureRateThreshold() * recordedCalls
+                || slowOnes * 100 >= settings.getSlowCallRateThreshold() * recordedCalls;
+    }
+
+    private Transition transitionTo(State newState, long now) {
+        State oldState = state;
+        state = newState;
+        recordedCalls = 0;
+        nextSlot = 0;
+        failures = 0;
+        slowOnes = 0;
+        if (newState == State.OPEN) {
+            openedAt = now;
+        } else if (newState == State.HALF_OPEN) {
+            halfOpenPermits = settings.getHalfOpenCalls();
+        }
+        return new Transition(oldState, newState);
+    }
+
+    private void notifyTransition(Transition transition) {
+        if (transition != null) {
+            onTransition.accept(transition.from, transition.to);
+        }
+    }
+
+    private static final class Transition {
+        private final State from;
+        private final State to;
+
+        private Transition(State from, State to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.UpstreamAttempt;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgedRequests {
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgingProperties properties;
+    private final MeterRegistry registry;
+    private final RetryBudget retryBudget;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor hedgeTimers;
+    private final ConcurrentMap<String, RouteLatency> latencies = new ConcurrentHashMap<>();
+    private final Counter notHedged;
+    private final Counter primaryWon;
+    private final Counter hedgeWon;
+    private final Counter bothFailed;
+    private final Counter retries;
+    private final Counter hedgesDenied;
+    private final Counter retriesDenied;
+
+    public HedgedRequests(HedgingProperties properties,
+                          MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.retryBudget = new RetryBudget(properties.getRetryBudget());
+        this.executor = new ThreadPoolExecutor(0, properties.getMaxThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("upstream-hedge-"));
+        this.hedgeTimers = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("upstream-hedge-timer-"));
+        this.hedgeTimers.setRemoveOnCancelPolicy(true);
+        this.notHedged = registerOutcomeCounter("not-hedged");
+        this.primaryWon = registerOutcomeCounter("primary-won");
+        this.hedgeWon = registerOutcomeCounter("hedge-won");
+        this.bothFailed = registerOutcomeCounter("both-failed");
+        this.retries = Counter.builder("shareit.gateway.retries")
+                .description("Idempotent GETs retried after an I/O failure")
+                .register(registry);
+        this.hedgesDenied = registerDeniedCounter("hedge");
+        this.retriesDenied = registerDeniedCounter("retry");
+        Gauge.builder("shareit.gateway.retry-budget.available", retryBudget, RetryBudget::available)
+                .description("Extra upstream attempts the retry budget currently allows")
+                .register(registry);
+    }
+
+    public ResponseEntity<byte[]> execute(String route, Supplier<ResponseEntity<byte[]>> upstreamCall) {
+        if (!properties.isEnabled()) {
+            return upstreamCall.get();
+        }
+        retryBudget.deposit();
+
+        RouteLatency latency = latencies.computeIfAbsent(route, this::createLatency);
+        long hedgeDelayNanos = latency.hedgeDelayNanos();
+        if (hedgeDelayNanos < 0) {
+            notHedged.increment();
+            return withRetry(() -> timed(latency, upstreamCall));
+        }
+
+        UpstreamAttempt primary = UpstreamAttempt.childOfCurrent();
+        UpstreamAttempt hedge = UpstreamAttempt.childOfCurrent();
+        CompletableFuture<ResponseEntity<byte[]>> hedgeCall = new CompletableFuture<>();
+        ScheduledFuture<?> hedgeTimer = hedgeTimers.schedule(
+                () -> launchHedge(latency, upstreamCall, primary, hedge, hedgeCall),
+                hedgeDelayNanos, TimeUnit.NANOSECONDS);
+
+        ResponseEntity<byte[]> response;
+        try {
+            response = primary.run(() -> timed(latency, upstreamCall));
+        } catch (RuntimeException e) {
+            if (hedgeTimer.cancel(false)) {
+                notHedged.increment();
+                return retryAfter(e, () -> timed(latency, upstreamCall));
+            }
+            return afterPrimaryFailure(e, latency, upstreamCall, hedge, hedgeCall);
+        }
+
+        if (hedgeTimer.cancel(false)) {
+            notHedged.increment();
+            return response;
+        }
+        hedge.cancel();
+        if (isLaunched(hedgeCall)) {
+            primaryWon.increment();
+        } else {
+            notHedged.increment();
+        }
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeTimers.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void launchHedge(RouteLatency latency,
+                             Supplier<ResponseEntity<byte[]>> upstreamCall,
+                             UpstreamAttempt primary,
+                             UpstreamAttempt hedge,
+                             CompletableFuture<ResponseEntity<byte[]>> hedgeCall) {
+        if (hedge.isCancelled()) {
+            hedgeCall.complete(null);
+            return;
+        }
+        if (!retryBudget.tryWithdraw()) {
+            hedgesDenied.increment();
+            hedgeCall.complete(null);
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    ResponseEntity<byte[]> response = hedge.run(() -> timed(latency, upstreamCall));
+                    hedgeCall.complete(response);
+                    primary.cancel();
+                } catch (RuntimeException e) {
+                    hedgeCall.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            hedgeCall.complete(null);
+        }
+    }
+
+    private ResponseEntity<byte[]> afterPrimaryFailure(RuntimeException primaryFailure,
+                                                       RouteLatency latency,
+                                                       Supplier<ResponseEntity<byte[]>> upstreamCall,
+                                                       UpstreamAttempt hedge,
+                                                       CompletableFuture<ResponseEntity<byte[]>> hedgeCall) {
+        ResponseEntity<byte[]> hedgeResponse;
+        try {
+            hedgeResponse = hedgeCall.get();
+        } catch (ExecutionException e) {
+            bothFailed.increment();
+            throw primaryFailure;
+        } catch (InterruptedException e) {
+            hedge.cancel();
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for shareit-server");
+        }
+
+        if (hedgeResponse == null) {
+            notHedged.increment();
+            return retryAfter(primaryFailure, () -> timed(latency, upstreamCall));
+        }
+        hedgeWon.increment();
+        return hedgeResponse;
+    }
+
+    private static boolean isLaunched(CompletableFuture<ResponseEntity<byte[]>> hedgeCall) {
+        return !hedgeCall.isDone() || hedgeCall.isCompletedExceptionally() || hedgeCall.join() != null;
+    }
+
+    private ResponseEntity<byte[]> withRetry(Supplier<ResponseEntity<byte[]>> upstreamCall) {
+        try {
+            return upstreamCall.get();
+        } catch (ResourceAccessException e) {
+            return retryAfter(e, upstreamCall);
+        }
+    }
+
+    private ResponseEntity<byte[]> retryAfter(RuntimeException failure,
+                                              Supplier<ResponseEntity<byte[]>> upstreamCall) {
+        if (!isRetryable(failure)) {
+            throw failure;
+        }
+        if (!retryBudget.tryWithdraw()) {
+            retriesDenied.increment();
+            throw failure;
+        }
+        retries.increment();
+        return upstreamCall.get();
+    }
+
+    private static boolean isRetryable(RuntimeException failure) {
+        return failure instanceof ResourceAccessException
+                && !(failure.getCause() instanceof ConnectionPoolTimeoutException);
+    }
+
+    private static ResponseEntity<byte[]> timed(RouteLatency latency,
+                                                Supplier<ResponseEntity<byte[]>> upstreamCall) {
+        long startedAt = System.nanoTime();
+        ResponseEntity<byte[]> response = upstreamCall.get();
+        if (!UpstreamAttempt.isCurrentCancelled()) {
+            latency.timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        return response;
+    }
+
+    private RouteLatency createLatency(String route) {
+        Timer timer = Timer.builder("shareit.gateway.upstream.latency")
+                .tag("route", route)
+                .publishPercentiles(properties.getPercentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .description("Latency of GET attempts to shareit-server per route")
+                .register(registry);
+        return new RouteLatency(timer, properties);
+    }
+
+    private Counter registerOutcomeCounter(String result) {
+        return Counter.builder("shareit.gateway.hedging.requests")
+                .tag("result", result)
+                .description("Idempotent GETs by whether a hedge was sent and which attempt answered first")
+                .register(registry);
+    }
+
+    private Counter registerDeniedCounter(String kind) {
+        return Counter.builder("shareit.gateway.retry-budget.denied")
+                .tag("kind", kind)
+                .description("Extra upstream attempts refused because the retry budget was spent")
+                .register(registry);
+    }
+
+    private static class RouteLatency {
+        private final Timer timer;
+        private final double percentile;
+        private final long minDelayNanos;
+        private final long minSamples;
+        private volatile long delayNanos = -1;
+        private volatile long refreshedAt = System.nanoTime() - DELAY_REFRESH_NANOS;
+
+        private RouteLatency(Timer timer, HedgingProperties properties) {
+            this.timer = timer;
+            this.percentile = properties.getPercentile();
+            this.minDelayNanos = properties.getMinDelay().toNanos();
+            this.minSamples = properties.getMinSamples();
+        }
+
+        private long hedgeDelayNanos() {
+            long now = System.nanoTime();
+            if (now - refreshedAt >= DELAY_REFRESH_NANOS) {
+                refreshedAt = now;
+                delayNanos = computeDelayNanos();
+            }
+            return delayNanos;
+        }
+
+        private long computeDelayNanos() {
+            if (timer.count() < minSamples) {
+                return -1;
+            }
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == percentile) {
+                    return Math.max(minDelayNanos, (long) value.value(TimeUnit.NANOSECONDS));
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.hedging")
+public class HedgingProperties {
+    private boolean enabled = true;
+    private double percentile = 0.95;
+    private Duration minDelay = Duration.ofMillis(20);
+    private long minSamples = 100;
+    private int maxThreads = 256;
+    private RetryBudget retryBudget = new RetryBudget();
+
+    @Getter
+    @Setter
+    public static class RetryBudget {
+        private double ratio = 0.1;
+        private double minPerSecond = 5;
+        private double maxTokens = 100;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private Settings defaultSettings = new Settings();
+    private Map<String, Settings> routes = new HashMap<>();
+
+    public Settings settingsFor(String route) {
+        return routes.getOrDefault(route, defaultSettings);
+    }
+
+    @Getter
+    @Setter
+    public static class Settings {
+        private int maxConcurrentCalls = 50;
+        private Duration maxWait = Duration.ZERO;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private int slowCallRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 3;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.resilience;
+
+class RetryBudget {
+    private final double ratio;
+    private final double tokensPerNano;
+    private final double maxTokens;
+    private double tokens;
+    private long refilledAt;
+
+    RetryBudget(HedgingProperties.RetryBudget settings) {
+        this.ratio = settings.getRatio();
+        this.tokensPerNano = settings.getMinPerSecond() / 1_000_000_000d;
+        this.maxTokens = settings.getMaxTokens();
+        this.refilledAt = System.nanoTime();
+    }
+
+    synchronized void deposit() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
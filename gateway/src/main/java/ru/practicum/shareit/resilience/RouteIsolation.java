@@ -0,0 +1,147 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import ru.practicum.shareit.client.UpstreamAttempt;
+import ru.practicum.shareit.exceptions.UpstreamUnavailableException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class RouteIsolation {
+    private final ResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteGuard> guards = new ConcurrentHashMap<>();
+
+    public RouteIsolation(ResilienceProperties properties,
+                          MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public ResponseEntity<byte[]> execute(String route, Supplier<ResponseEntity<byte[]>> upstreamCall) {
+        if (!properties.isEnabled()) {
+            return upstreamCall.get();
+        }
+        return guards.computeIfAbsent(route, this::createGuard).execute(upstreamCall);
+    }
+
+    private RouteGuard createGuard(String route) {
+        ResilienceProperties.Settings settings = properties.settingsFor(route);
+        RouteGuard guard = new RouteGuard(route, settings, registry);
+        Gauge.builder("shareit.gateway.circuit.state", guard, g -> g.circuitBreaker.getState().ordinal())
+                .tag("route", route)
+                .description("Circuit breaker state per route: 0 closed, 1 half-open, 2 open")
+                .register(registry);
+        Gauge.builder("shareit.gateway.bulkhead.available", guard.bulkhead, Semaphore::availablePermits)
+                .tag("route", route)
+                .description("Free upstream call slots in the route bulkhead")
+                .register(registry);
+        return guard;
+    }
+
+    private static class RouteGuard {
+        private final String route;
+        private final long maxWaitNanos;
+        private final Semaphore bulkhead;
+        private final CircuitBreaker circuitBreaker;
+        private final Counter bulkheadRejections;
+        private final Counter circuitRejections;
+
+        private RouteGuard(String route,
+                           ResilienceProperties.Settings settings,
+                           MeterRegistry registry) {
+            this.route = route;
+            this.maxWaitNanos = settings.getMaxWait().toNanos();
+            this.bulkhead = new Semaphore(settings.getMaxConcurrentCalls());
+            this.circuitBreaker = new CircuitBreaker(settings, (from, to) -> {
+                log.warn("Circuit breaker for {} moved from {} to {}", route, from, to);
+                Counter.builder("shareit.gateway.circuit.transitions")
+                        .tag("route", route)
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .description("Circuit breaker state changes per route")
+                        .register(registry)
+                        .increment();
+            });
+            this.bulkheadRejections = registerRejectionCounter(registry, route, "bulkhead-full");
+            this.circuitRejections = registerRejectionCounter(registry, route, "circuit-open");
+        }
+
+        private ResponseEntity<byte[]> execute(Supplier<ResponseEntity<byte[]>> upstreamCall) {
+            if (!acquireBulkhead()) {
+                bulkheadRejections.increment();
+                throw new UpstreamUnavailableException("Too many concurrent calls to " + route);
+            }
+            try {
+                if (!circuitBreaker.tryAcquirePermission(System.nanoTime())) {
+                    circuitRejections.increment();
+                    throw new UpstreamUnavailableException("Circuit breaker for " + route + " is open");
+                }
+
+                long startedAt = System.nanoTime();
+                boolean failed = false;
+                try {
+                    ResponseEntity<byte[]> response = upstreamCall.get();
+                    failed = isUpstreamFailure(response.getStatusCodeValue());
+                    return response;
+                } catch (ResourceAccessException e) {
+                    failed = true;
+                    throw e;
+                } catch (RestClientResponseException e) {
+                    failed = isUpstreamFailure(e.getRawStatusCode());
+                    throw e;
+                } finally {
+                    long finishedAt = System.nanoTime();
+                    if (UpstreamAttempt.isCurrentCancelled()) {
+                        circuitBreaker.releasePermission();
+                    } else {
+                        circuitBreaker.onResult(failed, finishedAt - startedAt, finishedAt);
+                    }
+                }
+            } finally {
+                bulkhead.release();
+            }
+        }
+
+        private static boolean isUpstreamFailure(int status) {
+            return status == HttpStatus.BAD_GATEWAY.value()
+                    || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+
+        private boolean acquireBulkhead() {
+            if (maxWaitNanos == 0) {
+                return bulkhead.tryAcquire();
+            }
+            try {
+                return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private static Counter registerRejectionCounter(MeterRegistry registry, String route, String reason) {
+            return Counter.builder("shareit.gateway.resilience.rejected")
+                    .tag("route", route)
+                    .tag("reason", reason)
+                    .description("Upstream calls refused by route isolation")
+                    .register(registry);
+        }
+    }
+}
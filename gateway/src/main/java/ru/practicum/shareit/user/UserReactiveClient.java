@@ -0,0 +1,63 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+public class UserReactiveClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public UserReactiveClient(@Value("${shareit-server.url}") String serverUrl,
+                              WebClient.Builder builder,
+                              ClientHttpConnector shareItServerHttpConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(shareItServerHttpConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(Integer userId) {
+        Map<String, Object> parameters = Map.of(
+                "userId", userId
+        );
+        return get("/{userId}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addUser(UserDto userDto) {
+        return post("", null, null, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(Integer userId,
+                                                   UserUpdateDto userUpdateDto) {
+        Map<String, Object> parameters = Map.of(
+                "userId", userId
+        );
+        return patch("/{userId}", userId, parameters, userUpdateDto);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(Integer userId) {
+        Map<String, Object> parameters = Map.of(
+                "userId", userId
+        );
+        return delete("/{userId}", userId, parameters);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import javax.validation.Valid;
+
+@Controller
+@ConditionalOnProperty(name = "shareit-gateway.client-mode", havingValue = "reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+public class UserReactiveController {
+    private final UserReactiveClient userClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return userClient.getAllUsers();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable(name = "id") Integer userId) {
+        return userClient.getUser(userId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addUser(@Valid @RequestBody UserDto userDto) {
+        return userClient.addUser(userDto);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable(name = "id") Integer userId,
+                                                   @RequestBody UserUpdateDto userUpdateDto) {
+        return userClient.updateUser(userId, userUpdateDto);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable(name = "id") Integer userId) {
+        return userClient.deleteUser(userId);
+    }
+}
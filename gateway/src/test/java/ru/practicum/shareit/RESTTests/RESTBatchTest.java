@@ -0,0 +1,173 @@
+package ru.practicum.shareit.RESTTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.client.UpstreamAttempt;
+import ru.practicum.shareit.item.ItemClient;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Пакетные запросы. Тесты контроллера")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"shareit-gateway.batch.threads=1", "shareit-gateway.batch.queue-capacity=0",
+                "shareit-gateway.batch.timeout=500ms"})
+class RESTBatchTest {
+    private static final List<String> FILTERED_URIS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private ThreadPoolTaskExecutor batchExecutor;
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    @DisplayName("Подзапрос проходит фильтры и получает пользователя пакета")
+    void testSubRequestUsesBatchUserId() {
+        doReturn(ResponseEntity.ok(Map.of("id", 5)))
+                .when(itemClient)
+                .getItem(anyInt(), anyInt());
+        FILTERED_URIS.clear();
+
+        JsonNode responses = executeBatch(Map.of("requests", List.of(Map.of("id", "item", "method", "GET",
+                "path", "/items/5", "headers", Map.of("x-sharer-user-id", "2")))));
+
+        assertEquals(200, responses.get(0).get("status").asInt());
+        assertEquals(5, responses.get(0).get("body").get("id").asInt());
+        verify(itemClient).getItem(1, 5);
+        assertEquals(List.of("/batch", "/items/5"), FILTERED_URIS);
+    }
+
+    @Test
+    @DisplayName("Подзапросы сверх очереди получают 503")
+    void testSubRequestsBeyondQueueAreRejected() throws InterruptedException {
+        awaitIdleBatchExecutor();
+        doAnswer(invocation -> {
+            Thread.sleep(300);
+            return ResponseEntity.ok(Map.of("id", 5));
+        })
+                .when(itemClient)
+                .getItem(anyInt(), anyInt());
+
+        JsonNode responses = executeBatch(Map.of("requests", List.of(
+                Map.of("id", "first", "method", "GET", "path", "/items/5"),
+                Map.of("id", "second", "method", "GET", "path", "/items/6"))));
+
+        assertEquals(List.of(200, 503), StreamSupport.stream(responses.spliterator(), false)
+                .map(response -> response.get("status").asInt())
+                .collect(Collectors.toList()));
+        assertEquals("second", responses.get(1).get("id").asText());
+    }
+
+    @Test
+    @DisplayName("Подзапрос дольше таймаута пакета получает 504, а его вызов отменяется")
+    void testSlowSubRequestTimesOut() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!UpstreamAttempt.isCurrentCancelled() && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            if (UpstreamAttempt.isCurrentCancelled()) {
+                cancelled.countDown();
+            }
+            return ResponseEntity.ok(Map.of("id", 5));
+        })
+                .when(itemClient)
+                .getItem(anyInt(), anyInt());
+
+        JsonNode responses = executeBatch(Map.of("requests", List.of(Map.of("id", "slow", "method", "GET",
+                "path", "/items/5"))));
+
+        assertEquals(504, responses.get(0).get("status").asInt());
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+    }
+
+    @Test
+    @DisplayName("Вложенный пакет отклоняется с 400 после маршрутизации")
+    void testNestedBatchIsRejected() {
+        JsonNode responses = executeBatch(Map.of("requests", List.of(Map.of("id", "nested", "method", "POST",
+                "path", "/batch;x", "body", Map.of("requests", List.of(Map.of("method", "GET", "path", "/items/5")))))));
+
+        assertEquals(400, responses.get(0).get("status").asInt());
+        assertEquals("Batch requests cannot be nested", responses.get(0).get("body").get("error").asText());
+    }
+
+    @Test
+    @DisplayName("Ошибка контейнера возвращается с телом страницы ошибки")
+    void testSendErrorIsRenderedByErrorController() {
+        JsonNode responses = executeBatch(Map.of("requests", List.of(Map.of("id", "missing", "method", "GET",
+                "path", "/missing"))));
+
+        assertEquals(404, responses.get(0).get("status").asInt());
+        assertEquals(404, responses.get(0).get("body").get("status").asInt());
+        assertEquals("/missing", responses.get(0).get("body").get("path").asText());
+    }
+
+    private void awaitIdleBatchExecutor() throws InterruptedException {
+        while (batchExecutor.getActiveCount() > 0) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+    }
+
+    private JsonNode executeBatch(Map<String, Object> batch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/batch", new HttpEntity<>(batch, headers), JsonNode.class);
+
+        assertEquals(200, response.getStatusCodeValue());
+        return response.getBody().get("responses");
+    }
+
+    @TestConfiguration
+    static class FilterConfig {
+        @Bean
+        OncePerRequestFilter recordingFilter() {
+            return new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request,
+                                                HttpServletResponse response,
+                                                FilterChain filterChain) throws ServletException, IOException {
+                    FILTERED_URIS.add(request.getRequestURI());
+                    filterChain.doFilter(request, response);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load generator for comparing gateway client modes at the same thread count.
+ * Start the gateway once with shareit-gateway.client-mode=blocking and once with reactive
+ * (same server.tomcat.threads.max), then run:
+ * {@code GatewayThroughputBenchmark <url> <userId> <threads> <requestsPerThread> [warmupPerThread]}
+ */
+public class GatewayThroughputBenchmark {
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/bookings/owner");
+        String userId = args.length > 1 ? args[1] : "1";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int requestsPerThread = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        int warmupPerThread = args.length > 4 ? Integer.parseInt(args[4]) : 100;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", userId)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        run(httpClient, request, threads, warmupPerThread);
+        long startNanos = System.nanoTime();
+        long[] latencies = run(httpClient, request, threads, requestsPerThread);
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("url=%s threads=%d requests=%d%n", uri, threads, latencies.length);
+        System.out.printf("throughput=%.1f req/s%n", latencies.length / elapsedSeconds);
+        System.out.printf("p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static long[] run(HttpClient httpClient,
+                              HttpRequest request,
+                              int threads,
+                              int requestsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] threadLatencies = new long[requestsPerThread];
+                    for (int j = 0; j < requestsPerThread; j++) {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        threadLatencies[j] = System.nanoTime() - requestStart;
+                        if (response.statusCode() >= 500) {
+                            throw new IllegalStateException("Gateway responded with " + response.statusCode());
+                        }
+                    }
+                    return threadLatencies;
+                }));
+            }
+
+            long[] latencies = new long[threads * requestsPerThread];
+            int offset = 0;
+            for (Future<long[]> future : futures) {
+                long[] threadLatencies = future.get();
+                System.arraycopy(threadLatencies, 0, latencies, offset, threadLatencies.length);
+                offset += threadLatencies.length;
+            }
+            return latencies;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+}
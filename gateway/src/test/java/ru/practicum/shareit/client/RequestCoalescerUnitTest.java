@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Объединение одинаковых запросов. Модульные тесты")
+class RequestCoalescerUnitTest {
+    private static final String KEY = "/items/1#1";
+    private static final int WAITERS = 8;
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(true, registry);
+        executor = Executors.newFixedThreadPool(WAITERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Ожидающие получают ответ ведущего запроса")
+    void testWaitersShareLeaderResponse() throws Exception {
+        ResponseEntity<byte[]> response = ResponseEntity.ok(new byte[]{1});
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        List<Future<ResponseEntity<byte[]>>> results = executeConcurrently(() -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            return response;
+        });
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(WAITERS, requests("coalesced"));
+    }
+
+    @Test
+    @DisplayName("Ошибка ведущего запроса освобождает ожидающих и ключ")
+    void testLeaderFailureReleasesWaiters() throws Exception {
+        ResourceAccessException failure = new ResourceAccessException("Connection refused");
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<ResponseEntity<byte[]>>> results = executeConcurrently(() -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<ResponseEntity<byte[]>> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+
+        ResponseEntity<byte[]> response = ResponseEntity.ok(new byte[0]);
+        assertSame(response, coalescer.execute(KEY, () -> response));
+        assertEquals(2, requests("upstream"));
+    }
+
+    @Test
+    @DisplayName("Ответ ведущего не переиспользуется после завершения")
+    void testCompletedCallIsNotReused() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        coalescer.execute(KEY, () -> ResponseEntity.ok(new byte[]{(byte) upstreamCalls.incrementAndGet()}));
+        ResponseEntity<byte[]> second = coalescer.execute(KEY,
+                () -> ResponseEntity.ok(new byte[]{(byte) upstreamCalls.incrementAndGet()}));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(2, second.getBody()[0]);
+    }
+
+    private List<Future<ResponseEntity<byte[]>>> executeConcurrently(Supplier<ResponseEntity<byte[]>> upstreamCall)
+            throws InterruptedException {
+        List<Future<ResponseEntity<byte[]>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute(KEY, upstreamCall)));
+        waitFor(() -> requests("upstream") == 1);
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute(KEY, upstreamCall)));
+        }
+        waitFor(() -> requests("coalesced") == WAITERS);
+        return results;
+    }
+
+    private double requests(String result) {
+        return registry.get("shareit.gateway.coalescing.requests").tag("result", result).counter().count();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
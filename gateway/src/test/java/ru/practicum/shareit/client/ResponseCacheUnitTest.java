@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Кэш ответов. Модульные тесты")
+class ResponseCacheUnitTest {
+    private static final String KEY = "/items/1#1";
+
+    private SimpleMeterRegistry registry;
+    private List<String> etags;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        etags = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Свежая запись отдаётся без обращения к серверу")
+    void testFreshEntryIsHit() {
+        ResponseCache cache = cache(10, Duration.ofMinutes(1));
+        ResponseEntity<byte[]> response = ok("\"v1\"", 1);
+
+        assertSame(response, cache.get(KEY, upstream(response)));
+        assertSame(response, cache.get(KEY, upstream(ok("\"v2\"", 2))));
+
+        assertEquals(Arrays.asList((String) null), etags);
+        assertEquals(1, outcomes("miss"));
+        assertEquals(1, outcomes("hit"));
+    }
+
+    @Test
+    @DisplayName("Ответ 304 возвращает тело из кэша")
+    void testNotModifiedReusesCachedResponse() {
+        ResponseCache cache = cache(10, Duration.ZERO);
+        ResponseEntity<byte[]> response = ok("\"v1\"", 1);
+        cache.get(KEY, upstream(response));
+
+        assertSame(response, cache.get(KEY, upstream(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())));
+
+        assertEquals(Arrays.asList(null, "\"v1\""), etags);
+        assertEquals(1, outcomes("revalidated"));
+    }
+
+    @Test
+    @DisplayName("Запись устаревает по истечении времени жизни")
+    void testEntryExpiresAfterTtl() throws InterruptedException {
+        ResponseCache cache = cache(10, Duration.ofMillis(100));
+        cache.get(KEY, upstream(ok("\"v1\"", 1)));
+        cache.get(KEY, upstream(ok("\"v1\"", 1)));
+
+        Thread.sleep(150);
+        ResponseEntity<byte[]> changed = ok("\"v2\"", 2);
+
+        assertSame(changed, cache.get(KEY, upstream(changed)));
+        assertEquals(Arrays.asList(null, "\"v1\""), etags);
+        assertEquals(1, outcomes("replaced"));
+    }
+
+    @Test
+    @DisplayName("Запись инвалидирует весь кэш")
+    void testWriteInvalidatesCache() {
+        ResponseCache cache = cache(10, Duration.ofMinutes(1));
+        cache.get(KEY, upstream(ok("\"v1\"", 1)));
+
+        cache.invalidateAll();
+        ResponseEntity<byte[]> changed = ok("\"v2\"", 2);
+
+        assertSame(changed, cache.get(KEY, upstream(changed)));
+        assertEquals(Arrays.asList(null, "\"v1\""), etags);
+    }
+
+    @Test
+    @DisplayName("Ответ, полученный до инвалидации, не считается свежим")
+    void testStoreRacingInvalidateIsNotServed() {
+        ResponseCache cache = cache(10, Duration.ofMinutes(1));
+        cache.get(KEY, etag -> {
+            etags.add(etag);
+            cache.invalidateAll();
+            return ok("\"v1\"", 1);
+        });
+        ResponseEntity<byte[]> changed = ok("\"v2\"", 2);
+
+        assertSame(changed, cache.get(KEY, upstream(changed)));
+        assertEquals(Arrays.asList(null, "\"v1\""), etags);
+        assertEquals(0, outcomes("hit"));
+    }
+
+    @Test
+    @DisplayName("При переполнении вытесняется давно не использованная запись")
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ResponseCache cache = cache(2, Duration.ofMinutes(1));
+        cache.get("a", upstream(ok("\"a\"", 1)));
+        cache.get("b", upstream(ok("\"b\"", 2)));
+        cache.get("a", upstream(ok("\"a\"", 1)));
+        cache.get("c", upstream(ok("\"c\"", 3)));
+        etags.clear();
+
+        cache.get("a", upstream(ok("\"a\"", 1)));
+        cache.get("b", upstream(ok("\"b\"", 2)));
+
+        assertEquals(Arrays.asList((String) null), etags);
+        assertEquals(2, registry.get("shareit.gateway.cache.size").gauge().value());
+    }
+
+    private ResponseCache cache(int maxEntries, Duration ttl) {
+        return new ResponseCache(true, maxEntries, ttl, registry);
+    }
+
+    private Function<String, ResponseEntity<byte[]>> upstream(ResponseEntity<byte[]> response) {
+        return etag -> {
+            etags.add(etag);
+            return response;
+        };
+    }
+
+    private static ResponseEntity<byte[]> ok(String etag, int body) {
+        return ResponseEntity.ok().eTag(etag).body(new byte[]{(byte) body});
+    }
+
+    private double outcomes(String result) {
+        return registry.get("shareit.gateway.cache.requests").tag("result", result).counter().count();
+    }
+}
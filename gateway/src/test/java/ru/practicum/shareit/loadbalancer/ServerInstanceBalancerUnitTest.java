@@ -0,0 +1,152 @@
+package ru.practicum.shareit.loadbalancer;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Балансировка между экземплярами сервера. Модульные тесты")
+class ServerInstanceBalancerUnitTest {
+    @Test
+    @DisplayName("Балансировщик включается списком экземпляров в любой форме")
+    void testInstancesBinding() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(LoadBalancerConfig.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+        contextRunner.withPropertyValues("shareit-server.load-balancer.instances=http://server-1:9090,http://server-2:9090")
+                .run(context -> assertThat(context.getBean(ServerInstanceBalancer.class).getInstances()).hasSize(2));
+        contextRunner.withPropertyValues("shareit-server.load-balancer.instances[0]=http://server-1:9090",
+                        "shareit-server.load-balancer.instances[1]=http://server-2:9090")
+                .run(context -> assertThat(context.getBean(ServerInstanceBalancer.class).getInstances()).hasSize(2));
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(ServerInstanceBalancer.class));
+    }
+
+    @Test
+    @DisplayName("Адрес экземпляра сохраняет его базовый путь")
+    void testTargetKeepsBasePath() {
+        ServerInstance instance = new ServerInstance(URI.create("https://server-1:9443/shareit/"));
+
+        assertEquals(URI.create("https://server-1:9443/shareit/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C"),
+                instance.target(URI.create("http://localhost:9090/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C")));
+        assertEquals(URI.create("http://server-2:9090/items/1"),
+                new ServerInstance(URI.create("http://server-2:9090")).target(URI.create("http://localhost:9090/items/1")));
+    }
+
+    @Test
+    @DisplayName("Выбирается экземпляр с меньшим числом запросов в работе")
+    void testChoosesLessLoadedInstance() {
+        for (LoadBalancerProperties.Strategy strategy : LoadBalancerProperties.Strategy.values()) {
+            LoadBalancerProperties properties = properties("http://server-1:9090", "http://server-2:9090");
+            properties.setStrategy(strategy);
+            ServerInstanceBalancer balancer = new ServerInstanceBalancer(properties, new SimpleMeterRegistry());
+            ServerInstance busy = balancer.getInstances().get(0);
+            ServerInstance idle = balancer.getInstances().get(1);
+            busy.getOutstanding().set(3);
+
+            for (int i = 0; i < 20; i++) {
+                assertSame(idle, balancer.choose());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Экземпляр с ошибками подряд исключается и возвращается по истечении времени")
+    void testEjectionAndReturn() throws InterruptedException {
+        LoadBalancerProperties properties = properties("http://server-1:9090", "http://server-2:9090");
+        properties.setStrategy(LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        properties.setConsecutiveErrors(2);
+        properties.setBaseEjectionTime(Duration.ofMillis(200));
+        properties.setMaxEjectionPercent(50);
+        ServerInstanceBalancer balancer = new ServerInstanceBalancer(properties, new SimpleMeterRegistry());
+        ServerInstance failing = balancer.getInstances().get(0);
+        ServerInstance healthy = balancer.getInstances().get(1);
+        healthy.getOutstanding().set(1);
+
+        balancer.onResponse(failing, 1_000, true);
+        assertSame(failing, balancer.choose());
+        balancer.onResponse(failing, 1_000, true);
+        for (int i = 0; i < 20; i++) {
+            assertSame(healthy, balancer.choose());
+        }
+
+        balancer.onResponse(healthy, 1_000, true);
+        balancer.onResponse(healthy, 1_000, true);
+        assertTrue(healthy.isAvailable(System.nanoTime()));
+
+        Thread.sleep(250);
+        assertSame(failing, balancer.choose());
+    }
+
+    @Test
+    @DisplayName("Проверка здоровья по базовому пути выводит экземпляр из работы и возвращает его")
+    void testHealthCheck() throws IOException, InterruptedException {
+        AtomicInteger healthStatus = new AtomicInteger(200);
+        HttpServer checked = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        checked.createContext("/shareit/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(healthStatus.get(), -1);
+            exchange.close();
+        });
+        HttpServer other = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        other.createContext("/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        checked.start();
+        other.start();
+
+        LoadBalancerProperties properties = properties("http://127.0.0.1:" + checked.getAddress().getPort() + "/shareit",
+                "http://127.0.0.1:" + other.getAddress().getPort());
+        properties.setStrategy(LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        properties.setHealthCheckInterval(Duration.ofMillis(20));
+        properties.setUnhealthyThreshold(1);
+        properties.setHealthyThreshold(1);
+        ServerInstanceBalancer balancer = new ServerInstanceBalancer(properties, new SimpleMeterRegistry());
+        ServerInstance instance = balancer.getInstances().get(0);
+        balancer.getInstances().get(1).getOutstanding().set(1);
+
+        balancer.start();
+        try {
+            healthStatus.set(503);
+            awaitHealthy(instance, false);
+            assertSame(balancer.getInstances().get(1), balancer.choose());
+
+            healthStatus.set(200);
+            awaitHealthy(instance, true);
+            assertSame(instance, balancer.choose());
+        } finally {
+            balancer.stop();
+            checked.stop(0);
+            other.stop(0);
+        }
+    }
+
+    private static void awaitHealthy(ServerInstance instance, boolean healthy) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (instance.isHealthy() != healthy && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(healthy, instance.isHealthy());
+    }
+
+    private static LoadBalancerProperties properties(String... instances) {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setInstances(Arrays.stream(instances).map(URI::create).collect(Collectors.toList()));
+        return properties;
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Ограничение частоты запросов. Модульные тесты")
+class TokenBucketUnitTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    @DisplayName("Ведро пополняется со временем и не превышает ёмкость")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(limit(2, 1), START);
+
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(SECOND, bucket.tryAcquire(START));
+        assertEquals(SECOND / 2, bucket.tryAcquire(START + SECOND / 2));
+        assertEquals(0, bucket.tryAcquire(START + SECOND));
+
+        long later = START + 100 * SECOND;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    @DisplayName("Ведро простаивает, только когда полностью пополнилось")
+    void testIdle() {
+        TokenBucket bucket = new TokenBucket(limit(10, 1), START);
+        bucket.tryAcquire(START);
+
+        assertFalse(bucket.isIdle(START + 5 * SECOND, SECOND));
+        assertTrue(bucket.isIdle(START + 10 * SECOND, SECOND));
+    }
+
+    @Test
+    @DisplayName("Конкурентные потоки не выдают больше жетонов, чем есть в ведре")
+    void testConcurrentAcquire() throws Exception {
+        int capacity = 100;
+        int threads = 8;
+        int attemptsPerThread = 1_000;
+        TokenBucket bucket = new TokenBucket(limit(capacity, 1), START);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<Integer>> granted = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                granted.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                        if (bucket.tryAcquire(START) == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+
+            int total = 0;
+            for (Future<Integer> result : granted) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(capacity, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Ограничитель считает вёдра по маршруту и клиенту и округляет ожидание вверх")
+    void testRateLimiterKeysAndRetryAfter() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultLimit(limit(1, 0.5));
+        RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+
+        assertEquals(0, rateLimiter.tryAcquire("/items", "1"));
+        assertEquals(2, rateLimiter.tryAcquire("/items", "1"));
+        assertEquals(0, rateLimiter.tryAcquire("/items", "2"));
+        assertEquals(0, rateLimiter.tryAcquire("/bookings", "1"));
+    }
+
+    @Test
+    @DisplayName("Новые клиенты при заполненном ограничителе делят ведро маршрута")
+    void testRateLimiterOverflowSharesRouteBucket() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(1);
+        properties.setDefaultLimit(limit(2, 0.5));
+        RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+
+        assertEquals(0, rateLimiter.tryAcquire("/items", "1"));
+        assertEquals(0, rateLimiter.tryAcquire("/items", "2"));
+        assertEquals(0, rateLimiter.tryAcquire("/items", "3"));
+        assertTrue(rateLimiter.tryAcquire("/items", "4") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("/bookings", "5"));
+        assertEquals(0, rateLimiter.tryAcquire("/items", "1"));
+        assertTrue(rateLimiter.tryAcquire("/items", "1") > 0);
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+}
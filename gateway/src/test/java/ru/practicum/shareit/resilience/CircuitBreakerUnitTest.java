@@ -0,0 +1,142 @@
+package ru.practicum.shareit.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Автоматический выключатель. Модульные тесты")
+class CircuitBreakerUnitTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FAST = MILLI;
+    private static final long SLOW = 3_000 * MILLI;
+    private static final long START = 1_000_000 * MILLI;
+
+    private final List<String> transitions = new ArrayList<>();
+    private ResilienceProperties.Settings settings;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        settings = new ResilienceProperties.Settings();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallRateThreshold(50);
+        settings.setSlowCallDuration(Duration.ofSeconds(2));
+        settings.setOpenDuration(Duration.ofSeconds(10));
+        settings.setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker(settings, (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    @Test
+    @DisplayName("Переходы CLOSED -> OPEN -> HALF_OPEN -> CLOSED")
+    void testFullCycle() {
+        recordCalls(START, false, false, true);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        recordCalls(START, true);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission(START + 9_999 * MILLI));
+
+        long halfOpenAt = START + 10_000 * MILLI;
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+        assertFalse(circuitBreaker.tryAcquirePermission(halfOpenAt));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onResult(false, FAST, halfOpenAt);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onResult(false, FAST, halfOpenAt);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    @DisplayName("Неудачный пробный вызов снова размыкает цепь")
+    void testHalfOpenFailureReopens() {
+        recordCalls(START, true, true, true, true);
+        long halfOpenAt = START + 10_000 * MILLI;
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+
+        circuitBreaker.onResult(true, FAST, halfOpenAt);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission(halfOpenAt + MILLI));
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt + 10_000 * MILLI));
+    }
+
+    @Test
+    @DisplayName("Медленные вызовы размыкают цепь")
+    void testSlowCallsOpen() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(false, i % 2 == 0 ? SLOW : FAST, START);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Окно учитывает только последние вызовы")
+    void testSlidingWindowEvictsOldCalls() {
+        recordCalls(START, true, false, false, false);
+        recordCalls(START, false, false, false, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        recordCalls(START, true);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Возвращённое пробное разрешение можно получить снова, но не сверх лимита")
+    void testReleasedHalfOpenPermit() {
+        recordCalls(START, true, true, true, true);
+        long halfOpenAt = START + 10_000 * MILLI;
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+
+        circuitBreaker.releasePermission();
+        circuitBreaker.releasePermission();
+        circuitBreaker.releasePermission();
+
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+        assertTrue(circuitBreaker.tryAcquirePermission(halfOpenAt));
+        assertFalse(circuitBreaker.tryAcquirePermission(halfOpenAt));
+
+        circuitBreaker.onResult(false, FAST, halfOpenAt);
+        circuitBreaker.onResult(false, FAST, halfOpenAt);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Обработчик перехода вызывается вне блокировки выключателя")
+    void testTransitionCallbackRunsOutsideLock() {
+        List<Boolean> lockHeld = new ArrayList<>();
+        CircuitBreaker[] breaker = new CircuitBreaker[1];
+        breaker[0] = new CircuitBreaker(settings, (from, to) -> lockHeld.add(Thread.holdsLock(breaker[0])));
+
+        for (int i = 0; i < 4; i++) {
+            breaker[0].onResult(true, FAST, START);
+        }
+        breaker[0].tryAcquirePermission(START + 10_000 * MILLI);
+
+        assertEquals(List.of(false, false), lockHeld);
+    }
+
+    private void recordCalls(long now, boolean... failed) {
+        for (boolean callFailed : failed) {
+            assertTrue(circuitBreaker.tryAcquirePermission(now));
+            circuitBreaker.onResult(callFailed, FAST, now);
+        }
+    }
+}
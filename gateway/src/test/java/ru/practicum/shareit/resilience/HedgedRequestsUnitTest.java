@@ -0,0 +1,161 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.UpstreamAttempt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Хеджирование запросов. Модульные тесты")
+class HedgedRequestsUnitTest {
+    private static final String ROUTE = "/items";
+    private static final int MIN_SAMPLES = 5;
+
+    private SimpleMeterRegistry registry;
+    private HedgedRequests hedgedRequests;
+
+    @BeforeEach
+    void setUp() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setMinSamples(MIN_SAMPLES);
+        properties.setMinDelay(Duration.ofMillis(20));
+        properties.getRetryBudget().setRatio(1);
+        properties.getRetryBudget().setMinPerSecond(0);
+        registry = new SimpleMeterRegistry();
+        hedgedRequests = new HedgedRequests(properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedgedRequests.shutdown();
+    }
+
+    @Test
+    @DisplayName("Основная попытка выполняется в вызывающем потоке")
+    void testPrimaryRunsOnCallerThread() throws InterruptedException {
+        warmUp();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        hedgedRequests.execute(ROUTE, () -> {
+            threads.add(Thread.currentThread());
+            return ResponseEntity.ok(new byte[0]);
+        });
+
+        assertEquals(List.of(Thread.currentThread()), threads);
+        assertEquals(MIN_SAMPLES + 1, outcomes("not-hedged"));
+    }
+
+    @Test
+    @DisplayName("Ответ хеджа отменяет медленную основную попытку")
+    void testHedgeCancelsSlowPrimary() throws InterruptedException {
+        warmUp();
+        ResponseEntity<byte[]> hedgeResponse = ResponseEntity.ok(new byte[]{1});
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<byte[]> response = hedgedRequests.execute(ROUTE, () -> {
+            if (attempts.incrementAndGet() > 1) {
+                return hedgeResponse;
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!UpstreamAttempt.isCurrentCancelled() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertTrue(UpstreamAttempt.isCurrentCancelled());
+            throw new ResourceAccessException("Request aborted");
+        });
+
+        assertSame(hedgeResponse, response);
+        assertEquals(2, attempts.get());
+        assertEquals(1, outcomes("hedge-won"));
+    }
+
+    @Test
+    @DisplayName("Отказ обеих попыток не засчитывается основной")
+    void testBothAttemptsFailed() throws InterruptedException {
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResourceAccessException failure = assertThrows(ResourceAccessException.class, () -> hedgedRequests.execute(ROUTE, () -> {
+            if (attempts.incrementAndGet() > 1) {
+                throw new ResourceAccessException("Hedge failed");
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (attempts.get() < 2 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            throw new ResourceAccessException("Primary failed");
+        }));
+
+        assertEquals("Primary failed", failure.getMessage());
+        assertEquals(2, attempts.get());
+        assertEquals(1, outcomes("both-failed"));
+        assertEquals(0, outcomes("primary-won"));
+    }
+
+    @Test
+    @DisplayName("Отмена внешней попытки отменяет основную попытку и хедж")
+    void testOuterCancellationReachesAttempts() throws InterruptedException {
+        warmUp();
+        List<Boolean> cancelled = new CopyOnWriteArrayList<>();
+        UpstreamAttempt outer = new UpstreamAttempt();
+        outer.cancel();
+
+        assertThrows(ResourceAccessException.class, () -> outer.run(() -> hedgedRequests.execute(ROUTE, () -> {
+            cancelled.add(UpstreamAttempt.isCurrentCancelled());
+            throw new ResourceAccessException("Request aborted");
+        })));
+
+        assertFalse(cancelled.isEmpty());
+        assertTrue(cancelled.stream().allMatch(Boolean::booleanValue));
+    }
+
+    @Test
+    @DisplayName("Ошибка ввода-вывода повторяется, таймаут пула соединений нет")
+    void testPoolLeaseTimeoutIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseEntity<byte[]> response = hedgedRequests.execute(ROUTE, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ResourceAccessException("Connection reset");
+            }
+            return ResponseEntity.ok(new byte[0]);
+        });
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, attempts.get());
+
+        attempts.set(0);
+        assertThrows(ResourceAccessException.class, () -> hedgedRequests.execute(ROUTE, () -> {
+            attempts.incrementAndGet();
+            throw new ResourceAccessException("Timeout waiting for connection from pool",
+                    new ConnectionPoolTimeoutException("Timeout waiting for connection from pool"));
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    private void warmUp() throws InterruptedException {
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            hedgedRequests.execute(ROUTE, () -> ResponseEntity.ok(new byte[0]));
+        }
+        Thread.sleep(1_100);
+    }
+
+    private double outcomes(String result) {
+        return registry.get("shareit.gateway.hedging.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Бюджет повторов. Модульные тесты")
+class RetryBudgetUnitTest {
+    @Test
+    @DisplayName("Бюджет исчерпывается и пополняется только запросами")
+    void testBudgetExhaustion() {
+        RetryBudget retryBudget = new RetryBudget(settings(0.5, 0, 2));
+
+        assertFalse(retryBudget.tryWithdraw());
+
+        retryBudget.deposit();
+        assertFalse(retryBudget.tryWithdraw());
+        retryBudget.deposit();
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+    }
+
+    @Test
+    @DisplayName("Бюджет не превышает максимум")
+    void testBudgetCap() {
+        RetryBudget retryBudget = new RetryBudget(settings(1, 0, 2));
+
+        for (int i = 0; i < 10; i++) {
+            retryBudget.deposit();
+        }
+
+        assertEquals(2, retryBudget.available());
+        assertTrue(retryBudget.tryWithdraw());
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+    }
+
+    @Test
+    @DisplayName("Минимальный бюджет пополняется со временем")
+    void testMinimumRefill() throws InterruptedException {
+        RetryBudget retryBudget = new RetryBudget(settings(0, 100, 1));
+
+        Thread.sleep(20);
+
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+    }
+
+    private static HedgingProperties.RetryBudget settings(double ratio, double minPerSecond, double maxTokens) {
+        HedgingProperties.RetryBudget settings = new HedgingProperties.RetryBudget();
+        settings.setRatio(ratio);
+        settings.setMinPerSecond(minPerSecond);
+        settings.setMaxTokens(maxTokens);
+        return settings;
+    }
+}
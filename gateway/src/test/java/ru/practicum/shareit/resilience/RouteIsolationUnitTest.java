@@ -0,0 +1,87 @@
+package ru.practicum.shareit.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.client.UpstreamAttempt;
+import ru.practicum.shareit.exceptions.UpstreamUnavailableException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Изоляция маршрутов. Модульные тесты")
+class RouteIsolationUnitTest {
+    private static final String ROUTE = "/items";
+
+    private SimpleMeterRegistry registry;
+    private RouteIsolation routeIsolation;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        ResilienceProperties.Settings settings = properties.getDefaultSettings();
+        settings.setSlidingWindowSize(2);
+        settings.setMinimumCalls(2);
+        settings.setOpenDuration(Duration.ofMillis(50));
+        settings.setHalfOpenCalls(1);
+        registry = new SimpleMeterRegistry();
+        routeIsolation = new RouteIsolation(properties, registry);
+    }
+
+    @Test
+    @DisplayName("Отменённая попытка возвращает пробное разрешение")
+    void testCancelledAttemptReleasesHalfOpenPermit() throws InterruptedException {
+        routeIsolation.execute(ROUTE, () -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).build());
+        routeIsolation.execute(ROUTE, () -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).build());
+        assertEquals(2, circuitState());
+        Thread.sleep(60);
+
+        UpstreamAttempt losingHedge = new UpstreamAttempt();
+        assertThrows(ResourceAccessException.class, () -> losingHedge.run(() -> routeIsolation.execute(ROUTE, () -> {
+            losingHedge.cancel();
+            throw new ResourceAccessException("Request aborted");
+        })));
+        assertEquals(1, circuitState());
+
+        ResponseEntity<byte[]> response = routeIsolation.execute(ROUTE, () -> ResponseEntity.ok(new byte[0]));
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(0, circuitState());
+    }
+
+    @Test
+    @DisplayName("Без возврата разрешения цепь отклоняет вызовы")
+    void testHalfOpenWithoutPermitRejects() throws InterruptedException {
+        routeIsolation.execute(ROUTE, () -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).build());
+        routeIsolation.execute(ROUTE, () -> ResponseEntity.status(HttpStatus.BAD_GATEWAY).build());
+        Thread.sleep(60);
+
+        assertThrows(UpstreamUnavailableException.class, () -> routeIsolation.execute(ROUTE, () -> {
+            routeIsolation.execute(ROUTE, () -> ResponseEntity.ok(new byte[0]));
+            return ResponseEntity.ok(new byte[0]);
+        }));
+    }
+
+    @Test
+    @DisplayName("Ошибки 500 от сервера не размыкают цепь")
+    void testInternalServerErrorsDoNotOpenCircuit() {
+        routeIsolation.execute(ROUTE, () -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        routeIsolation.execute(ROUTE, () -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        assertEquals(0, circuitState());
+
+        assertThrows(ResourceAccessException.class, () -> routeIsolation.execute(ROUTE, () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+        assertEquals(2, circuitState());
+    }
+
+    private double circuitState() {
+        return registry.get("shareit.gateway.circuit.state").tag("route", ROUTE).gauge().value();
+    }
+}
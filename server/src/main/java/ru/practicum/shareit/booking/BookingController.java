@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 
@@ -19,17 +21,37 @@ public class BookingController {
     @GetMapping
     public List<BookingDto> getAllBooking(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                                           @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                          @RequestParam(name = "itemId", required = false) Integer itemId,
                                           @RequestParam(defaultValue = "0") Integer from,
                                           @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getAllBooking(userId, state, from, size);
+        return bookingService.getAllBooking(userId, state, itemId, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllBookingByOwner(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                                                  @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                 @RequestParam(name = "itemId", required = false) Integer itemId,
                                                  @RequestParam(defaultValue = "0") Integer from,
                                                  @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.getAllBookingByOwner(userId, state, from, size);
+        return bookingService.getAllBookingByOwner(userId, state, itemId, from, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingDto>> getAllBookingAfter(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                               @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                               @RequestParam(name = "itemId", required = false) Integer itemId,
+                                                               @RequestParam(name = "cursor") String cursor,
+                                                               @RequestParam(defaultValue = "10") Integer size) {
+        return bookingService.getAllBookingAfter(userId, state, itemId, cursor, size).toResponse();
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingDto>> getAllBookingByOwnerAfter(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                                      @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                      @RequestParam(name = "itemId", required = false) Integer itemId,
+                                                                      @RequestParam(name = "cursor") String cursor,
+                                                                      @RequestParam(defaultValue = "10") Integer size) {
+        return bookingService.getAllBookingByOwnerAfter(userId, state, itemId, cursor, size).toResponse();
     }
 
     @GetMapping("/{bookingId}")
@@ -44,6 +66,12 @@ public class BookingController {
         return bookingService.addBooking(userId, bookingIncomingDto);
     }
 
+    @PostMapping("/bulk")
+    public List<BookingBulkResultDto> addBookings(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                  @RequestBody List<@Valid BookingIncomingDto> bookingIncomingDtos) {
+        return bookingService.addBookings(userId, bookingIncomingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                                      @PathVariable(name = "bookingId") Integer bookingId,
@@ -8,6 +8,8 @@ import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -16,8 +18,19 @@ public interface BookingMapper {
     BookingDto toDto(Booking booking);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toBooking(BookingIncomingDto bookingIncomingDto, Item item, User booker, BookingStatus status);
 
     @Mapping(source = "booking.booker.id", target = "bookerId")
     BookingForItemDto toForItemDto(Booking booking);
+
+    BookingForItemDto toForItemDto(ItemBookingView itemBookingView);
+
+    @Mapping(source = "lastBookingId", target = "id")
+    @Mapping(source = "lastBookerId", target = "bookerId")
+    BookingForItemDto toLastForItemDto(ItemBookingSummary itemBookingSummary);
+
+    @Mapping(source = "nextBookingId", target = "id")
+    @Mapping(source = "nextBookerId", target = "bookerId")
+    BookingForItemDto toNextForItemDto(ItemBookingSummary itemBookingSummary);
 }
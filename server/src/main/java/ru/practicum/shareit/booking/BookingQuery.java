@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingFilterState;
+import ru.practicum.shareit.exceptions.UnknownStateException;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@Accessors(chain = true)
+@RequiredArgsConstructor
+public class BookingQuery {
+    private final Role role;
+    private final Integer userId;
+    private Set<BookingFilterState> states = EnumSet.of(BookingFilterState.ALL);
+    private Integer itemId;
+    private LocalDateTime dateTimeNow = LocalDateTime.now();
+    private Cursor after;
+    private int from;
+    private int size = 10;
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    public static Set<BookingFilterState> parseStates(String state) {
+        Set<BookingFilterState> states = EnumSet.noneOf(BookingFilterState.class);
+        for (String name : state.split(",")) {
+            try {
+                states.add(BookingFilterState.valueOf(name.trim()));
+            } catch (IllegalArgumentException ex) {
+                throw new UnknownStateException("Unknown state: " + state);
+            }
+        }
+        return states;
+    }
+
+    public boolean isSortedByEnd() {
+        return states.contains(BookingFilterState.CURRENT)
+                && !states.contains(BookingFilterState.PAST)
+                && !states.contains(BookingFilterState.FUTURE);
+    }
+
+    public Cursor cursorOf(Booking booking) {
+        return new Cursor(isSortedByEnd() ? booking.getEnd() : booking.getStart(), booking.getId());
+    }
+}
@@ -1,71 +1,106 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingStatusCount;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
-@Repository
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    Page<Booking> findByBookerIdOrderByStartDesc(Integer userId, Pageable page);
-
-    Page<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(Integer userId,
-                                                                LocalDateTime dateTimeNow,
-                                                                Pageable page);
-
-    Page<Booking> findByItemOwnerIdOrderByStartDesc(Integer userId, Pageable page);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    Page<Booking> findByItemOwnerIdAndStartIsAfterOrderByStartDesc(Integer userId,
-                                                                   LocalDateTime dateTimeNow,
-                                                                   Pageable page);
-
-    Page<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(Integer userId,
-                                                                  LocalDateTime dateTimeNow,
-                                                                  Pageable page);
-
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(Integer userId,
-                                                                               LocalDateTime dateTimeNow,
-                                                                               LocalDateTime localDateTimeRightNow,
-                                                                               Pageable page);
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingRepositoryCustom {
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Integer bookingId);
 
-    Page<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Integer userId,
-                                                             BookingStatus status,
-                                                             Pageable page);
+    @Query("select booking from Booking booking " +
+            "where booking.item.id = :itemId " +
+            "and booking.id <> :bookingId " +
+            "and booking.status in :statuses " +
+            "and booking.start < :end " +
+            "and booking.end > :start " +
+            "order by booking.start")
+    List<Booking> findOverlappingBookings(@Param("itemId") Integer itemId,
+                                          @Param("bookingId") Integer bookingId,
+                                          @Param("statuses") Set<BookingStatus> statuses,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end,
+                                          Pageable page);
 
-    Page<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(Integer userId,
-                                                               LocalDateTime dateTimeNow,
-                                                               Pageable page);
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking booking " +
+            "set booking.status = :newStatus, booking.version = booking.version + 1 " +
+            "where booking.id = :bookingId " +
+            "and booking.status = :expectedStatus " +
+            "and booking.item.id in (select item.id from Item item where item.owner.id = :ownerId)")
+    int updateStatus(@Param("bookingId") Integer bookingId,
+                     @Param("ownerId") Integer ownerId,
+                     @Param("expectedStatus") BookingStatus expectedStatus,
+                     @Param("newStatus") BookingStatus newStatus);
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(Integer userId,
-                                                                            LocalDateTime dateTimeNow,
-                                                                            LocalDateTime localDateTimeRightNow,
-                                                                            Pageable page);
+    @Query("select booking from Booking booking " +
+            "where booking.item.id in :itemIds " +
+            "and booking.status in :statuses " +
+            "and booking.start < :end " +
+            "and booking.end > :start")
+    List<Booking> findOverlappingBookings(@Param("itemIds") Collection<Integer> itemIds,
+                                          @Param("statuses") Set<BookingStatus> statuses,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
 
-    Page<Booking> findByBookerIdAndStatusOrderByStartDesc(Integer userId,
-                                                          BookingStatus status,
-                                                          Pageable page);
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(booking.start, booking.end) " +
+            "from Booking booking " +
+            "where booking.item.id = :itemId " +
+            "and booking.status in :statuses " +
+            "and booking.start < :to " +
+            "and booking.end > :from " +
+            "order by booking.start")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<BookingInterval> streamIntervals(@Param("itemId") Integer itemId,
+                                            @Param("statuses") Set<BookingStatus> statuses,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
 
-    @Query(value = "WITH cte AS (SELECT *, ROW_NUMBER() OVER (PARTITION BY ITEM_ID ORDER BY START_DATE DESC) AS rn FROM Bookings b " +
-            "WHERE b.ITEM_ID IN :items AND status NOT IN :statusExclude AND START_DATE < :dateTimeNow)" +
-            "SELECT * FROM cte WHERE rn = 1;", nativeQuery = true)
-    List<Booking> findLastBooking(@Param("items") Set<Integer> itemId,
-                                  @Param("statusExclude") Set<String> statusExclude,
-                                  @Param("dateTimeNow") LocalDateTime dateTimeNow);
+    @Query(value = "SELECT picked.item_id AS \"itemId\", picked.is_last AS \"last\", b.id AS \"id\", b.booker_id AS \"bookerId\", " +
+            "b.start_date AS \"start\", b.end_date AS \"end\" " +
+            "FROM (SELECT i.id AS item_id, TRUE AS is_last, " +
+            "(SELECT l.id FROM bookings l " +
+            "WHERE l.item_id = i.id AND l.status NOT IN :statusExclude AND l.start_date < :dateTimeNow " +
+            "ORDER BY l.start_date DESC, l.id DESC LIMIT 1) AS booking_id " +
+            "FROM items i WHERE i.id IN :items " +
+            "UNION ALL " +
+            "SELECT i.id, FALSE, " +
+            "(SELECT n.id FROM bookings n " +
+            "WHERE n.item_id = i.id AND n.status NOT IN :statusExclude AND n.start_date > :dateTimeNow " +
+            "ORDER BY n.start_date, n.id LIMIT 1) " +
+            "FROM items i WHERE i.id IN :items) picked " +
+            "JOIN bookings b ON b.id = picked.booking_id", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextBookings(@Param("items") Set<Integer> itemIds,
+                                                  @Param("statusExclude") Set<String> statusExclude,
+                                                  @Param("dateTimeNow") LocalDateTime dateTimeNow);
 
-    @Query(value = "WITH cte AS (SELECT *, ROW_NUMBER() OVER (PARTITION BY ITEM_ID ORDER BY START_DATE ASC) AS rn FROM Bookings b " +
-            "WHERE b.ITEM_ID IN :items AND status NOT IN :statusExclude AND START_DATE > :dateTimeNow)" +
-            "SELECT * FROM cte WHERE rn = 1;", nativeQuery = true)
-    List<Booking> findNextBooking(@Param("items") Set<Integer> itemId,
-                                  @Param("statusExclude") Set<String> statusExclude,
-                                  @Param("dateTimeNow") LocalDateTime dateTimeNow);
+    @Query("select booking.item.id as itemId, booking.status as status, count(booking) as total " +
+            "from Booking booking " +
+            "where booking.item.id in :itemIds " +
+            "group by booking.item.id, booking.status")
+    List<BookingStatusCount> countByStatus(@Param("itemIds") Collection<Integer> itemIds);
 
     @Query(value = "select case when count(*) > 0 then true else false end from bookings booking " +
             "where booking.item_id = :itemId " +
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    List<Booking> search(BookingQuery query);
+}
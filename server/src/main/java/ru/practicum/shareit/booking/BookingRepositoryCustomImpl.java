@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingFilterState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCHGRAPH;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> search(BookingQuery query) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("select booking from Booking booking where ")
+                .append(query.getRole() == BookingQuery.Role.OWNER
+                        ? "booking.item.id in (select item.id from Item item where item.owner.id = :userId)"
+                        : "booking.booker.id = :userId");
+        parameters.put("userId", query.getUserId());
+
+        if (query.getItemId() != null) {
+            jpql.append(" and booking.item.id = :itemId");
+            parameters.put("itemId", query.getItemId());
+        }
+
+        List<String> timePredicates = new ArrayList<>();
+        Set<BookingStatus> statuses = EnumSet.noneOf(BookingStatus.class);
+        for (BookingFilterState state : query.getStates()) {
+            switch (state) {
+                case FUTURE:
+                    timePredicates.add("booking.start > :dateTimeNow");
+                    break;
+                case PAST:
+                    timePredicates.add("booking.end < :dateTimeNow");
+                    break;
+                case CURRENT:
+                    timePredicates.add("(booking.start < :dateTimeNow and booking.end > :dateTimeNow)");
+                    break;
+                case WAITING:
+                case REJECTED:
+                    statuses.add(BookingStatus.valueOf(state.name()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (!timePredicates.isEmpty()) {
+            jpql.append(" and (").append(String.join(" or ", timePredicates)).append(")");
+            parameters.put("dateTimeNow", query.getDateTimeNow());
+        }
+        if (!statuses.isEmpty()) {
+            jpql.append(" and booking.status in :statuses");
+            parameters.put("statuses", statuses);
+        }
+
+        String sortKey = query.isSortedByEnd() ? "booking.end" : "booking.start";
+        if (query.getAfter() != null) {
+            jpql.append(" and ").append(sortKey).append(" <= :afterKey")
+                    .append(" and (").append(sortKey).append(" < :afterKey or (")
+                    .append(sortKey).append(" = :afterKey and booking.id < :afterId))");
+            parameters.put("afterKey", query.getAfter().getKey());
+            parameters.put("afterId", query.getAfter().getId());
+        }
+        jpql.append(" order by ").append(sortKey).append(" desc, booking.id desc");
+
+        TypedQuery<Booking> typedQuery = entityManager.createQuery(jpql.toString(), Booking.class)
+                .setHint(HINT_FETCHGRAPH, entityManager.getEntityGraph(Booking.WITH_ITEM_AND_BOOKER))
+                .setFirstResult(query.getAfter() == null ? query.getFrom() : 0)
+                .setMaxResults(query.getSize());
+        parameters.forEach(typedQuery::setParameter);
+
+        return typedQuery.getResultList();
+    }
+}
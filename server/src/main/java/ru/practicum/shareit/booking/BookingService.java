@@ -1,21 +1,29 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
 public interface BookingService {
     BookingDto addBooking(Integer userId, BookingIncomingDto bookingIncomingDto);
 
+    List<BookingBulkResultDto> addBookings(Integer userId, List<BookingIncomingDto> bookingIncomingDtos);
+
     BookingDto approveBooking(Integer userId, Integer bookingId, Boolean approved);
 
     BookingDto getBookingDto(Integer userId, Integer bookingId);
 
     Booking getBooking(Integer userId, Integer bookingId);
 
-    List<BookingDto> getAllBooking(Integer userId, String state, Integer from, Integer size);
+    List<BookingDto> getAllBooking(Integer userId, String state, Integer itemId, Integer from, Integer size);
+
+    List<BookingDto> getAllBookingByOwner(Integer userId, String state, Integer itemId, Integer from, Integer size);
+
+    CursorPage<BookingDto> getAllBookingAfter(Integer userId, String state, Integer itemId, String cursor, Integer size);
 
-    List<BookingDto> getAllBookingByOwner(Integer userId, String state, Integer from, Integer size);
+    CursorPage<BookingDto> getAllBookingByOwnerAfter(Integer userId, String state, Integer itemId, String cursor, Integer size);
 }
@@ -2,24 +2,38 @@ package ru.practicum.shareit.booking;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingFilterState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.AccessForChangesDeniedException;
+import ru.practicum.shareit.exceptions.BookingConflictException;
 import ru.practicum.shareit.exceptions.BookingUpdateNotAllowedException;
 import ru.practicum.shareit.exceptions.ItemIsUnavailableException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +44,9 @@ public class BookingServiceImpl implements BookingService {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingMapper bookingMapper;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private static final Set<BookingStatus> ACTIVE_STATUS_SET = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final String OVERLAP_CONSTRAINT = "no_overlapping_bookings";
 
     @Override
     public BookingDto getBookingDto(Integer userId,
@@ -42,88 +59,56 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getAllBooking(Integer userId,
                                           String state,
+                                          Integer itemId,
                                           Integer from,
                                           Integer size) {
-        List<Booking> bookingList;
+        BookingQuery query = newQuery(BookingQuery.Role.BOOKER, userId, state, itemId, size)
+                .setFrom(from > 0 ? from / size * size : 0);
 
-        userService.getUser(userId);
-
-        BookingFilterState filterState = BookingFilterState.valueOf(state);
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-
-        switch (filterState) {
-            case ALL:
-                bookingList = bookingRepository.findByBookerIdOrderByStartDesc(userId, page).getContent();
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(), page).getContent();
-                break;
-            case PAST:
-                bookingList = bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(), page).getContent();
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(userId, LocalDateTime.now(), LocalDateTime.now(), page).getContent();
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, page).getContent();
-                break;
-            case REJECTED:
-                bookingList = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, page).getContent();
-                break;
-            default:
-                return null;
-        }
-
-        return bookingList.stream()
-                .map(bookingMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(bookingRepository.search(query));
     }
 
     @Override
     public List<BookingDto> getAllBookingByOwner(Integer userId,
                                                  String state,
+                                                 Integer itemId,
                                                  Integer from,
                                                  Integer size) {
-        List<Booking> bookingList;
+        BookingQuery query = newQuery(BookingQuery.Role.OWNER, userId, state, itemId, size)
+                .setFrom(from > 0 ? from / size * size : 0);
 
-        userService.getUser(userId);
+        return toDtos(bookingRepository.search(query));
+    }
 
-        BookingFilterState filterState = BookingFilterState.valueOf(state);
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-
-        switch (filterState) {
-            case ALL:
-                bookingList = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, page).getContent();
-                break;
-            case FUTURE:
-                bookingList = bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(), page).getContent();
-                break;
-            case PAST:
-                bookingList = bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(), page).getContent();
-                break;
-            case CURRENT:
-                bookingList = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(userId, LocalDateTime.now(), LocalDateTime.now(), page).getContent();
-                break;
-            case WAITING:
-                bookingList = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, page).getContent();
-                break;
-            case REJECTED:
-                bookingList = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, page).getContent();
-                break;
-            default:
-                return null;
-        }
+    @Override
+    public CursorPage<BookingDto> getAllBookingAfter(Integer userId,
+                                                     String state,
+                                                     Integer itemId,
+                                                     String cursor,
+                                                     Integer size) {
+        BookingQuery query = newQuery(BookingQuery.Role.BOOKER, userId, state, itemId, size + 1)
+                .setAfter(Cursor.decode(cursor));
 
-        return bookingList.stream()
-                .map(bookingMapper::toDto)
-                .collect(Collectors.toList());
+        return CursorPage.of(bookingRepository.search(query), size, query::cursorOf, this::toDtos);
+    }
+
+    @Override
+    public CursorPage<BookingDto> getAllBookingByOwnerAfter(Integer userId,
+                                                            String state,
+                                                            Integer itemId,
+                                                            String cursor,
+                                                            Integer size) {
+        BookingQuery query = newQuery(BookingQuery.Role.OWNER, userId, state, itemId, size + 1)
+                .setAfter(Cursor.decode(cursor));
+
+        return CursorPage.of(bookingRepository.search(query), size, query::cursorOf, this::toDtos);
     }
 
     @Override
     @Transactional
     public BookingDto addBooking(Integer userId,
                                  BookingIncomingDto bookingIncomingDto) {
-        Item item = itemService.getItem(bookingIncomingDto.getItemId());
+        Item item = itemService.getItemForUpdate(bookingIncomingDto.getItemId());
 
         if (item.getOwner().getId() == userId) {
             throw new AccessForChangesDeniedException("Вы не можете забронировать свой же предмет");
@@ -133,37 +118,110 @@ public class BookingServiceImpl implements BookingService {
             throw new ItemIsUnavailableException("Предмет с Id " + bookingIncomingDto.getItemId() + " недоступен для бронирования.");
         }
 
+        checkNoOverlap(item.getId(), 0, bookingIncomingDto.getStart(), bookingIncomingDto.getEnd());
+
         User user = userService.getUser(userId);
 
         Booking booking = bookingMapper.toBooking(bookingIncomingDto, item, user, BookingStatus.WAITING);
 
-        bookingRepository.save(booking);
+        saveBooking(booking);
+        itemBookingSummaryService.refresh(item.getId());
 
         return bookingMapper.toDto(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBulkResultDto> addBookings(Integer userId,
+                                                  List<BookingIncomingDto> bookingIncomingDtos) {
+        User user = userService.getUser(userId);
+        if (bookingIncomingDtos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Item> items = itemService.getItemsForUpdate(bookingIncomingDtos.stream()
+                        .map(BookingIncomingDto::getItemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Integer, List<Booking>> activeBookings = findActiveBookings(items.keySet(), bookingIncomingDtos);
+
+        List<BookingBulkResultDto> results = new ArrayList<>();
+        Map<Integer, Booking> createdBookings = new LinkedHashMap<>();
+        for (int index = 0; index < bookingIncomingDtos.size(); index++) {
+            BookingIncomingDto bookingIncomingDto = bookingIncomingDtos.get(index);
+            Item item = items.get(bookingIncomingDto.getItemId());
+            BookingBulkResultDto result = new BookingBulkResultDto().setIndex(index);
+            results.add(result);
+
+            if (item == null) {
+                result.setStatus(HttpStatus.NOT_FOUND.value())
+                        .setError("Предмет с Id " + bookingIncomingDto.getItemId() + " не найден.");
+                continue;
+            }
+
+            if (item.getOwner().getId() == userId) {
+                result.setStatus(HttpStatus.NOT_FOUND.value())
+                        .setError("Вы не можете забронировать свой же предмет");
+                continue;
+            }
+
+            if (!item.getAvailable()) {
+                result.setStatus(HttpStatus.BAD_REQUEST.value())
+                        .setError("Предмет с Id " + item.getId() + " недоступен для бронирования.");
+                continue;
+            }
+
+            List<Booking> itemBookings = activeBookings.computeIfAbsent(item.getId(), itemId -> new ArrayList<>());
+            Optional<Booking> conflicting = itemBookings.stream()
+                    .filter(booking -> booking.getStart().isBefore(bookingIncomingDto.getEnd())
+                            && booking.getEnd().isAfter(bookingIncomingDto.getStart()))
+                    .findFirst();
+            if (conflicting.isPresent()) {
+                result.setStatus(HttpStatus.CONFLICT.value())
+                        .setError(conflicting.get().getId() != 0
+                                ? "Предмет с Id " + item.getId() + " уже забронирован на пересекающийся период (бронирование с Id " + conflicting.get().getId() + ")."
+                                : "Предмет с Id " + item.getId() + " уже забронирован на пересекающийся период в этом же запросе.");
+                continue;
+            }
+
+            Booking booking = bookingMapper.toBooking(bookingIncomingDto, item, user, BookingStatus.WAITING);
+            itemBookings.add(booking);
+            createdBookings.put(index, booking);
+            result.setStatus(HttpStatus.CREATED.value());
+        }
+
+        saveBookings(createdBookings.values());
+        createdBookings.forEach((index, booking) -> results.get(index).setBooking(bookingMapper.toDto(booking)));
+        itemBookingSummaryService.refreshAll(createdBookings.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+
+        return results;
+    }
+
     @Override
     @Transactional
     public BookingDto approveBooking(Integer userId,
                                      Integer bookingId,
                                      Boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NullPointerException("Бронь с Id " + bookingId + " не найдена."));
+        BookingStatus newStatus = approved ?
+                BookingStatus.APPROVED :
+                BookingStatus.REJECTED;
 
-        Item item = booking.getItem();
-        if (item.getOwner().getId() != userId) {
-            throw new AccessForChangesDeniedException("Доступ к бронированию запрещен.");
+        if (bookingRepository.updateStatus(bookingId, userId, BookingStatus.WAITING, newStatus) == 0) {
+            throw statusTransitionError(userId, bookingId);
         }
 
-        if (booking.getStatus() == BookingStatus.APPROVED) {
-            throw new BookingUpdateNotAllowedException("Бронирование с Id " + bookingId + " уже подтверждено.");
-        }
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NullPointerException("Бронь с Id " + bookingId + " не найдена."));
 
-        booking.setStatus(approved ?
-                BookingStatus.APPROVED :
-                BookingStatus.REJECTED);
+        if (approved) {
+            itemBookingSummaryService.onApproved(booking.getItem().getId());
+        } else {
+            itemBookingSummaryService.refresh(booking.getItem().getId());
+        }
 
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        return bookingMapper.toDto(booking);
     }
 
     @Override
@@ -179,4 +237,98 @@ public class BookingServiceImpl implements BookingService {
 
         return booking;
     }
+
+    private BookingQuery newQuery(BookingQuery.Role role,
+                                  Integer userId,
+                                  String state,
+                                  Integer itemId,
+                                  Integer size) {
+        userService.getUser(userId);
+
+        return new BookingQuery(role, userId)
+                .setStates(BookingQuery.parseStates(state))
+                .setItemId(itemId)
+                .setSize(size);
+    }
+
+    private List<BookingDto> toDtos(List<Booking> bookingList) {
+        return bookingList.stream()
+                .map(bookingMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private RuntimeException statusTransitionError(Integer userId,
+                                                   Integer bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NullPointerException("Бронь с Id " + bookingId + " не найдена."));
+
+        if (booking.getItem().getOwner().getId() != userId) {
+            return new AccessForChangesDeniedException("Доступ к бронированию запрещен.");
+        }
+
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            return new BookingUpdateNotAllowedException("Бронирование с Id " + bookingId + " уже подтверждено.");
+        }
+
+        return new BookingConflictException("Бронирование с Id " + bookingId + " уже переведено в статус " + booking.getStatus() + ".");
+    }
+
+    private void checkNoOverlap(Integer itemId,
+                                Integer bookingId,
+                                LocalDateTime start,
+                                LocalDateTime end) {
+        bookingRepository.findOverlappingBookings(itemId, bookingId, ACTIVE_STATUS_SET, start, end, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .ifPresent(conflicting -> {
+                    throw new BookingConflictException("Предмет с Id " + itemId + " уже забронирован на пересекающийся период (бронирование с Id " + conflicting.getId() + ").");
+                });
+    }
+
+    private Map<Integer, List<Booking>> findActiveBookings(Set<Integer> itemIds,
+                                                           List<BookingIncomingDto> bookingIncomingDtos) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        LocalDateTime start = bookingIncomingDtos.stream()
+                .map(BookingIncomingDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = bookingIncomingDtos.stream()
+                .map(BookingIncomingDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        return bookingRepository.findOverlappingBookings(itemIds, ACTIVE_STATUS_SET, start, end).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            if (isOverlapViolation(ex)) {
+                throw new BookingConflictException("Предмет с Id " + booking.getItem().getId() + " уже забронирован на пересекающийся период.");
+            }
+            throw ex;
+        }
+    }
+
+    private void saveBookings(Collection<Booking> bookings) {
+        try {
+            bookingRepository.saveAll(bookings);
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (isOverlapViolation(ex)) {
+                throw new BookingConflictException("Одно из бронирований пересекается с бронированием, созданным параллельным запросом.");
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        return String.valueOf(ex.getMostSpecificCause().getMessage()).contains(OVERLAP_CONSTRAINT);
+    }
 }
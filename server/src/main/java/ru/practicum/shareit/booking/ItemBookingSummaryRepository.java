@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Integer> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findLockedByItemIdInOrderByItemIdAsc(Collection<Integer> itemIds);
+
+    @Query("select summary.itemId from ItemBookingSummary summary " +
+            "where summary.refreshDueAt <= :dateTimeNow " +
+            "order by summary.refreshDueAt")
+    List<Integer> findDueItemIds(@Param("dateTimeNow") LocalDateTime dateTimeNow,
+                                 Pageable page);
+
+    @Modifying
+    @Query("update ItemBookingSummary summary " +
+            "set summary.waitingCount = summary.waitingCount - 1, summary.approvedCount = summary.approvedCount + 1 " +
+            "where summary.itemId = :itemId")
+    int moveWaitingToApproved(@Param("itemId") Integer itemId);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+
+public interface ItemBookingSummaryService {
+    void refresh(Integer itemId);
+
+    void refreshAll(Collection<Integer> itemIds);
+
+    void onApproved(Integer itemId);
+
+    void refreshDue();
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingStatusCount;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.model.ItemBookingView;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private static final Set<String> BAD_BOOKING_STATUS_SET = Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name());
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    @Override
+    public void refresh(Integer itemId) {
+        refreshAll(Set.of(itemId));
+    }
+
+    @Override
+    public void refreshAll(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+        Map<Integer, ItemBookingSummary> summaries = itemBookingSummaryRepository.findLockedByItemIdInOrderByItemIdAsc(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+
+        Map<Integer, ItemBookingView> lastBookings = new HashMap<>();
+        Map<Integer, ItemBookingView> nextBookings = new HashMap<>();
+        for (ItemBookingView view : bookingRepository.findLastAndNextBookings(new HashSet<>(itemIds), BAD_BOOKING_STATUS_SET, dateTimeNow)) {
+            if (view.getLast()) {
+                lastBookings.put(view.getItemId(), view);
+            } else {
+                nextBookings.put(view.getItemId(), view);
+            }
+        }
+
+        Map<Integer, List<BookingStatusCount>> statusCounts = bookingRepository.countByStatus(itemIds).stream()
+                .collect(Collectors.groupingBy(BookingStatusCount::getItemId));
+
+        List<ItemBookingSummary> refreshed = new ArrayList<>();
+        for (Integer itemId : itemIds) {
+            ItemBookingSummary summary = summaries.getOrDefault(itemId, new ItemBookingSummary().setItemId(itemId));
+            fill(summary,
+                    lastBookings.get(itemId),
+                    nextBookings.get(itemId),
+                    statusCounts.getOrDefault(itemId, List.of()),
+                    dateTimeNow);
+            refreshed.add(summary);
+        }
+
+        itemBookingSummaryRepository.saveAll(refreshed);
+    }
+
+    @Override
+    public void onApproved(Integer itemId) {
+        if (itemBookingSummaryRepository.moveWaitingToApproved(itemId) == 0) {
+            refresh(itemId);
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${shareit.booking-summary.refresh-interval:60000}",
+            fixedDelayString = "${shareit.booking-summary.refresh-interval:60000}")
+    public void refreshDue() {
+        List<Integer> dueItemIds = itemBookingSummaryRepository.findDueItemIds(LocalDateTime.now(), PageRequest.of(0, REFRESH_BATCH_SIZE));
+        refreshAll(dueItemIds);
+
+        if (!dueItemIds.isEmpty()) {
+            log.debug("Refreshed booking summaries for {} items", dueItemIds.size());
+        }
+    }
+
+    private static void fill(ItemBookingSummary summary,
+                             ItemBookingView lastBooking,
+                             ItemBookingView nextBooking,
+                             List<BookingStatusCount> statusCounts,
+                             LocalDateTime dateTimeNow) {
+        boolean lastIsCurrent = lastBooking != null && lastBooking.getEnd().isAfter(dateTimeNow);
+
+        summary.setLastBookingId(lastBooking != null ? lastBooking.getId() : null)
+                .setLastBookerId(lastBooking != null ? lastBooking.getBookerId() : null)
+                .setNextBookingId(nextBooking != null ? nextBooking.getId() : null)
+                .setNextBookerId(nextBooking != null ? nextBooking.getBookerId() : null)
+                .setCurrentBookingId(lastIsCurrent ? lastBooking.getId() : null)
+                .setRefreshDueAt(earliest(nextBooking != null ? nextBooking.getStart() : null,
+                        lastIsCurrent ? lastBooking.getEnd() : null))
+                .setRefreshedAt(dateTimeNow);
+
+        summary.setWaitingCount(0)
+                .setApprovedCount(0)
+                .setRejectedCount(0)
+                .setCanceledCount(0);
+        for (BookingStatusCount count : statusCounts) {
+            int total = count.getTotal().intValue();
+            switch (count.getStatus()) {
+                case WAITING:
+                    summary.setWaitingCount(total);
+                    break;
+                case APPROVED:
+                    summary.setApprovedCount(total);
+                    break;
+                case REJECTED:
+                    summary.setRejectedCount(total);
+                    break;
+                case CANCELED:
+                    summary.setCanceledCount(total);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first,
+                                          LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookingBulkResultDto {
+    private int index;
+    private int status;
+    private BookingDto booking;
+    private String error;
+}
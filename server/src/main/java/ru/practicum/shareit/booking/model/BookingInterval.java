@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingInterval {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
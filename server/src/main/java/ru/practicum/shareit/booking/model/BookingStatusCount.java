@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.model;
+
+public interface BookingStatusCount {
+    Integer getItemId();
+
+    BookingStatus getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Accessors(chain = true)
+@Entity
+@Table(name = "item_booking_summaries")
+public class ItemBookingSummary {
+    @Id
+    private int itemId;
+    private Integer lastBookingId;
+    private Integer lastBookerId;
+    private Integer nextBookingId;
+    private Integer nextBookerId;
+    private Integer currentBookingId;
+    private int waitingCount;
+    private int approvedCount;
+    private int rejectedCount;
+    private int canceledCount;
+    private LocalDateTime refreshDueAt;
+    private LocalDateTime refreshedAt;
+
+    public boolean isFreshAt(LocalDateTime dateTimeNow) {
+        return refreshDueAt == null || refreshDueAt.isAfter(dateTimeNow);
+    }
+}
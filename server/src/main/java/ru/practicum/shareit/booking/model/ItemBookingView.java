@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemBookingView {
+    Integer getItemId();
+
+    Boolean getLast();
+
+    Integer getId();
+
+    Integer getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Config {
+    @Bean
+    public TomcatConnectorCustomizer http2StreamLimitsCustomizer(
+            @Value("${shareit.http2.max-concurrent-streams:200}") int maxConcurrentStreams,
+            @Value("${shareit.http2.keep-alive-timeout:60s}") Duration keepAliveTimeout) {
+        return connector -> {
+            for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol) {
+                    Http2Protocol http2Protocol = (Http2Protocol) upgradeProtocol;
+                    http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2Protocol.setMaxConcurrentStreamExecution(maxConcurrentStreams);
+                    http2Protocol.setKeepAliveTimeout(keepAliveTimeout.toMillis());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.booking-summary.refresh-enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
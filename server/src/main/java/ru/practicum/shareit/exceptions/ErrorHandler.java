@@ -2,6 +2,7 @@ package ru.practicum.shareit.exceptions;
 
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -72,4 +73,36 @@ public class ErrorHandler {
 
         return new ErrorResponse(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflictError(final BookingConflictException ex) {
+        log.warn("Got 409 status {}", ex.getMessage());
+
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingError(final OptimisticLockingFailureException ex) {
+        log.warn("Got 409 status {}", ex.getMessage());
+
+        return new ErrorResponse("Запись была изменена другим запросом, повторите операцию.");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidCursorError(final InvalidCursorException ex) {
+        log.warn("Got 400 status {}", ex.getMessage());
+
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleUnknownStateError(final UnknownStateException ex) {
+        log.warn("Got 400 status {}", ex.getMessage());
+
+        return new ErrorResponse(ex.getMessage());
+    }
+}
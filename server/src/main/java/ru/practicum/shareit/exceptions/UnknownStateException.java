@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exceptions;
+
+public class UnknownStateException extends RuntimeException {
+    public UnknownStateException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+class AvailabilityCollector implements Consumer<BookingInterval> {
+    private final ItemAvailabilityDto availability;
+    private LocalDateTime freeFrom;
+    private LocalDateTime occupiedFrom;
+    private LocalDateTime occupiedTo;
+
+    AvailabilityCollector(int itemId,
+                          LocalDateTime from,
+                          LocalDateTime to) {
+        this.availability = new ItemAvailabilityDto()
+                .setItemId(itemId)
+                .setFrom(from)
+                .setTo(to);
+        this.freeFrom = from;
+    }
+
+    @Override
+    public void accept(BookingInterval interval) {
+        LocalDateTime start = interval.getStart().isBefore(availability.getFrom()) ? availability.getFrom() : interval.getStart();
+        LocalDateTime end = interval.getEnd().isAfter(availability.getTo()) ? availability.getTo() : interval.getEnd();
+        if (!end.isAfter(start)) {
+            return;
+        }
+
+        if (occupiedFrom != null && !start.isAfter(occupiedTo)) {
+            if (end.isAfter(occupiedTo)) {
+                occupiedTo = end;
+            }
+            return;
+        }
+
+        closeOccupied();
+        if (start.isAfter(freeFrom)) {
+            availability.getFree().add(new AvailabilityIntervalDto().setStart(freeFrom).setEnd(start));
+        }
+        occupiedFrom = start;
+        occupiedTo = end;
+    }
+
+    ItemAvailabilityDto finish() {
+        closeOccupied();
+        if (availability.getTo().isAfter(freeFrom)) {
+            availability.getFree().add(new AvailabilityIntervalDto().setStart(freeFrom).setEnd(availability.getTo()));
+        }
+        return availability;
+    }
+
+    private void closeOccupied() {
+        if (occupiedFrom != null) {
+            availability.getOccupied().add(new AvailabilityIntervalDto().setStart(occupiedFrom).setEnd(occupiedTo));
+            freeFrom = occupiedTo;
+            occupiedFrom = null;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -8,5 +11,9 @@ import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    List<Comment> findByItemIdOrderByCreatedAsc(Integer itemId);
+    @EntityGraph(attributePaths = "author")
+    @Query("select comment from Comment comment " +
+            "where comment.item.id = :itemId " +
+            "order by comment.created")
+    List<Comment> findByItemIdOrderByCreatedAsc(@Param("itemId") Integer itemId);
 }
@@ -2,13 +2,17 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -26,12 +30,26 @@ public class ItemController {
         return itemService.getAllItems(userId, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<ItemDto>> getAllItemsAfter(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                          @RequestParam(name = "cursor") String cursor,
+                                                          @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.getAllItemsAfter(userId, cursor, size).toResponse();
+    }
+
     @GetMapping("/{id}")
     public ItemDto getItem(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                            @PathVariable(name = "id") Integer itemId) {
         return itemService.getItemDto(userId, itemId);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable(name = "id") Integer itemId,
+                                               @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestParam(name = "text") String text,
                                      @RequestParam(defaultValue = "0") Integer from,
@@ -39,6 +57,31 @@ public class ItemController {
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping(value = "/search", params = {"start", "end"})
+    public List<ItemDto> searchItemsFreeInWindow(@RequestParam(name = "text") String text,
+                                                 @RequestParam(name = "start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                 @RequestParam(name = "end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                 @RequestParam(defaultValue = "0") Integer from,
+                                                 @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.searchItemsFreeInWindow(text, start, end, from, size);
+    }
+
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<List<ItemDto>> searchItemsAfter(@RequestParam(name = "text") String text,
+                                                          @RequestParam(name = "cursor") String cursor,
+                                                          @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.searchItemsAfter(text, cursor, size).toResponse();
+    }
+
+    @GetMapping(value = "/search", params = {"start", "end", "cursor"})
+    public ResponseEntity<List<ItemDto>> searchItemsFreeInWindowAfter(@RequestParam(name = "text") String text,
+                                                                      @RequestParam(name = "start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                                      @RequestParam(name = "end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                                      @RequestParam(name = "cursor") String cursor,
+                                                                      @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.searchItemsFreeInWindowAfter(text, start, end, cursor, size).toResponse();
+    }
+
     @PostMapping
     public ItemDto addItem(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                            @RequestBody ItemDto itemDto) {
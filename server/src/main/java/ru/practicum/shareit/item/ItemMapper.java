@@ -1,8 +1,7 @@
 package ru.practicum.shareit.item;
 
 import org.mapstruct.*;
-import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -12,12 +11,12 @@ import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {BookingMapper.class, CommentMapper.class, UserMapper.class}, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+@Mapper(componentModel = "spring", uses = {CommentMapper.class, UserMapper.class}, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
 public interface ItemMapper {
     @Mapping(source = "item.id", target = "id")
     @Mapping(source = "lastBooking", target = "lastBooking")
     @Mapping(source = "nextBooking", target = "nextBooking")
-    ItemDto toDto(Item item, Booking lastBooking, Booking nextBooking);
+    ItemDto toDto(Item item, BookingForItemDto lastBooking, BookingForItemDto nextBooking);
 
     @Mapping(source = "item.owner.id", target = "ownerId")
     ItemDto toDto(Item item);
@@ -26,9 +25,9 @@ public interface ItemMapper {
     @Mapping(source = "lastBooking", target = "lastBooking")
     @Mapping(source = "nextBooking", target = "nextBooking")
     @Mapping(source = "comment", target = "comments")
-    ItemDto toDto(Item item, Booking lastBooking, Booking nextBooking, List<Comment> comment);
+    ItemDto toDto(Item item, BookingForItemDto lastBooking, BookingForItemDto nextBooking, List<Comment> comment);
 
-    @Mapping(source = "itemDto.id", target = "id")
+    @Mapping(target = "id", ignore = true)
     @Mapping(source = "itemDto.name", target = "name")
     @Mapping(source = "user", target = "owner")
     Item toItem(ItemDto itemDto, User user);
@@ -1,14 +1,21 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
@@ -16,9 +23,45 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
             "where item.available = true " +
             "and (lower(item.name) like lower(concat('%', :searchTxt, '%')) " +
             "or lower(item.description) like lower(concat('%', :searchTxt, '%')))")
-    Page<Item> findItemsByAvailabilityAndNameOrDesc(@Param("searchTxt") String searchTxt, Pageable page);
+    Slice<Item> findItemsByAvailabilityAndNameOrDesc(@Param("searchTxt") String searchTxt, Pageable page);
 
-    Page<Item> findByOwnerIdOrderByIdAsc(Integer ownerId, Pageable page);
+    @Query(value = "select item from Item item " +
+            "where item.available = true " +
+            "and (lower(item.name) like lower(concat('%', :searchTxt, '%')) " +
+            "or lower(item.description) like lower(concat('%', :searchTxt, '%'))) " +
+            "and item.id > :afterId " +
+            "order by item.id")
+    List<Item> findItemsByAvailabilityAndNameOrDescAfter(@Param("searchTxt") String searchTxt,
+                                                         @Param("afterId") Integer afterId,
+                                                         Pageable page);
+
+    @Query(value = "select item from Item item " +
+            "where item.available = true " +
+            "and (lower(item.name) like lower(concat('%', :searchTxt, '%')) " +
+            "or lower(item.description) like lower(concat('%', :searchTxt, '%'))) " +
+            "and not exists (select booking.id from Booking booking " +
+            "where booking.item = item " +
+            "and booking.status in :statuses " +
+            "and booking.start < :end " +
+            "and booking.end > :start) " +
+            "and item.id > :afterId " +
+            "order by item.id")
+    List<Item> findItemsFreeInWindowByNameOrDesc(@Param("searchTxt") String searchTxt,
+                                                 @Param("statuses") Set<BookingStatus> statuses,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end,
+                                                 @Param("afterId") Integer afterId,
+                                                 Pageable page);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findLockedById(Integer itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findLockedByIdInOrderByIdAsc(Collection<Integer> itemIds);
+
+    Slice<Item> findByOwnerIdOrderByIdAsc(Integer ownerId, Pageable page);
+
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Integer ownerId, Integer afterId, Pageable page);
 
     List<Item> findByRequestIdIn(List<Integer> itemRequestIds);
 }
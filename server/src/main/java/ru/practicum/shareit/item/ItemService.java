@@ -2,21 +2,39 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
     List<ItemDto> getAllItems(Integer userId, Integer from, Integer size);
 
+    CursorPage<ItemDto> getAllItemsAfter(Integer userId, String cursor, Integer size);
+
     ItemDto getItemDto(Integer userId, Integer itemId);
 
     Item getItem(Integer itemId);
 
+    Item getItemForUpdate(Integer itemId);
+
+    List<Item> getItemsForUpdate(Collection<Integer> itemIds);
+
+    ItemAvailabilityDto getAvailability(Integer itemId, LocalDateTime from, LocalDateTime to);
+
     List<ItemDto> searchItems(String text, Integer from, Integer size);
 
+    List<ItemDto> searchItemsFreeInWindow(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
+
+    CursorPage<ItemDto> searchItemsAfter(String text, String cursor, Integer size);
+
+    CursorPage<ItemDto> searchItemsFreeInWindowAfter(String text, LocalDateTime start, LocalDateTime end, String cursor, Integer size);
+
     ItemDto addItem(Integer userId, ItemDto itemDto);
 
     CommentOutputDto addComment(Integer userId, Integer itemId, CommentCreateDto commentCreateDto);
@@ -5,23 +5,31 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.exceptions.CommentCreateNotAllowedException;
 import ru.practicum.shareit.exceptions.ItemOwnerConflictException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,10 +39,13 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
     private final UserService userService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final BookingMapper bookingMapper;
     private static final Set<String> BAD_BOOKING_STATUS_SET = Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name());
+    private static final Set<BookingStatus> ACTIVE_BOOKING_STATUS_SET = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
 
     @Override
     public List<ItemDto> getAllItems(Integer userId,
@@ -43,18 +54,30 @@ public class ItemServiceImpl implements ItemService {
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
         List<Item> itemList = itemRepository.findByOwnerIdOrderByIdAsc(userId, page).getContent();
 
-        Map<Integer, Item> itemMap = itemList.stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return toDtosWithBookings(itemList);
+    }
 
-        List<Booking> lastBookingList = bookingRepository.findLastBooking(itemMap.keySet(), BAD_BOOKING_STATUS_SET, LocalDateTime.now());
-        List<Booking> nextBookingList = bookingRepository.findNextBooking(itemMap.keySet(), BAD_BOOKING_STATUS_SET, LocalDateTime.now());
+    @Override
+    public CursorPage<ItemDto> getAllItemsAfter(Integer userId,
+                                                String cursor,
+                                                Integer size) {
+        List<Item> itemList = itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, afterIdOf(cursor), PageRequest.of(0, size + 1));
 
-        Map<Integer, Booking> lastBookingMap = lastBookingList.stream()
-                .collect(Collectors.toMap(book -> book.getItem().getId(),
-                        Function.identity()));
-        Map<Integer, Booking> nextBookingMap = nextBookingList.stream()
-                .collect(Collectors.toMap(book -> book.getItem().getId(),
-                        Function.identity()));
+        return CursorPage.of(itemList, size, ItemServiceImpl::cursorOf, this::toDtosWithBookings);
+    }
+
+    private List<ItemDto> toDtosWithBookings(List<Item> itemList) {
+        if (itemList.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Integer> itemIds = itemList.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        Map<Integer, BookingForItemDto> lastBookingMap = new HashMap<>();
+        Map<Integer, BookingForItemDto> nextBookingMap = new HashMap<>();
+
+        findLastAndNextBookings(itemIds, lastBookingMap, nextBookingMap);
 
         return itemList.stream()
                 .map(x -> itemMapper.toDto(x, lastBookingMap.get(x.getId()), nextBookingMap.get(x.getId())))
@@ -65,27 +88,68 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDto getItemDto(Integer userId,
                               Integer itemId) {
-        Booking lastBooking = null;
-        Booking nextBooking = null;
+        Map<Integer, BookingForItemDto> lastBookingMap = new HashMap<>();
+        Map<Integer, BookingForItemDto> nextBookingMap = new HashMap<>();
 
         Item item = getItem(itemId);
 
         if (userId == item.getOwner().getId()) {
-            lastBooking = bookingRepository.findLastBooking(Set.of(itemId), BAD_BOOKING_STATUS_SET, LocalDateTime.now()).stream()
-                    .findFirst()
-                    .orElse(null);
-
-            nextBooking = bookingRepository.findNextBooking(Set.of(itemId), BAD_BOOKING_STATUS_SET, LocalDateTime.now()).stream()
-                    .findFirst()
-                    .orElse(null);
+            findLastAndNextBookings(Set.of(itemId), lastBookingMap, nextBookingMap);
         }
 
         return itemMapper.toDto(item,
-                lastBooking,
-                nextBooking,
+                lastBookingMap.get(itemId),
+                nextBookingMap.get(itemId),
                 commentRepository.findByItemIdOrderByCreatedAsc(itemId));
     }
 
+    private void findLastAndNextBookings(Set<Integer> itemIds,
+                                         Map<Integer, BookingForItemDto> lastBookingMap,
+                                         Map<Integer, BookingForItemDto> nextBookingMap) {
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+        Set<Integer> staleItemIds = new HashSet<>();
+
+        for (ItemBookingSummary summary : itemBookingSummaryRepository.findAllById(itemIds)) {
+            if (!summary.isFreshAt(dateTimeNow)) {
+                staleItemIds.add(summary.getItemId());
+                continue;
+            }
+
+            if (summary.getLastBookingId() != null) {
+                lastBookingMap.put(summary.getItemId(), bookingMapper.toLastForItemDto(summary));
+            }
+            if (summary.getNextBookingId() != null) {
+                nextBookingMap.put(summary.getItemId(), bookingMapper.toNextForItemDto(summary));
+            }
+        }
+
+        if (staleItemIds.isEmpty()) {
+            return;
+        }
+
+        for (ItemBookingView view : bookingRepository.findLastAndNextBookings(staleItemIds, BAD_BOOKING_STATUS_SET, dateTimeNow)) {
+            if (view.getLast()) {
+                lastBookingMap.put(view.getItemId(), bookingMapper.toForItemDto(view));
+            } else {
+                nextBookingMap.put(view.getItemId(), bookingMapper.toForItemDto(view));
+            }
+        }
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Integer itemId,
+                                               LocalDateTime from,
+                                               LocalDateTime to) {
+        Item item = getItem(itemId);
+        AvailabilityCollector collector = new AvailabilityCollector(item.getId(), from, to);
+
+        try (Stream<BookingInterval> intervals = bookingRepository.streamIntervals(itemId, ACTIVE_BOOKING_STATUS_SET, from, to)) {
+            intervals.forEach(collector);
+        }
+
+        return collector.finish();
+    }
+
     @Override
     public List<ItemDto> searchItems(String text,
                                      Integer from,
@@ -102,6 +166,54 @@ public class ItemServiceImpl implements ItemService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ItemDto> searchItemsFreeInWindow(String text,
+                                                 LocalDateTime start,
+                                                 LocalDateTime end,
+                                                 Integer from,
+                                                 Integer size) {
+        if (Objects.isNull(text)
+                || text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
+
+        return itemRepository.findItemsFreeInWindowByNameOrDesc(text, ACTIVE_BOOKING_STATUS_SET, start, end, 0, page).stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorPage<ItemDto> searchItemsAfter(String text,
+                                                String cursor,
+                                                Integer size) {
+        if (Objects.isNull(text)
+                || text.isBlank()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+
+        List<Item> itemList = itemRepository.findItemsByAvailabilityAndNameOrDescAfter(text, afterIdOf(cursor), PageRequest.of(0, size + 1));
+
+        return CursorPage.of(itemList, size, ItemServiceImpl::cursorOf, this::toDtos);
+    }
+
+    @Override
+    public CursorPage<ItemDto> searchItemsFreeInWindowAfter(String text,
+                                                            LocalDateTime start,
+                                                            LocalDateTime end,
+                                                            String cursor,
+                                                            Integer size) {
+        if (Objects.isNull(text)
+                || text.isBlank()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+
+        List<Item> itemList = itemRepository.findItemsFreeInWindowByNameOrDesc(text, ACTIVE_BOOKING_STATUS_SET, start, end, afterIdOf(cursor), PageRequest.of(0, size + 1));
+
+        return CursorPage.of(itemList, size, ItemServiceImpl::cursorOf, this::toDtos);
+    }
+
     @Override
     @Transactional
     public ItemDto addItem(Integer userId,
@@ -151,8 +263,34 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NullPointerException("Предмет с Id " + itemId + " не найден."));
     }
 
+    @Override
+    public Item getItemForUpdate(Integer itemId) {
+        return itemRepository.findLockedById(itemId)
+                .orElseThrow(() -> new NullPointerException("Предмет с Id " + itemId + " не найден."));
+    }
+
+    @Override
+    public List<Item> getItemsForUpdate(Collection<Integer> itemIds) {
+        return itemRepository.findLockedByIdInOrderByIdAsc(itemIds);
+    }
+
     @Override
     public List<Item> getItemsByRequestIds(List<Integer> itemRequestIds) {
         return itemRepository.findByRequestIdIn(itemRequestIds);
     }
+
+    private List<ItemDto> toDtos(List<Item> itemList) {
+        return itemList.stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private static int afterIdOf(String cursor) {
+        Cursor after = Cursor.decode(cursor);
+        return after != null ? after.getId() : 0;
+    }
+
+    private static Cursor cursorOf(Item item) {
+        return new Cursor(null, item.getId());
+    }
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@RequiredArgsConstructor
+public class Cursor {
+    private static final String SEPARATOR = ";";
+
+    private final LocalDateTime key;
+    private final int id;
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorAt = decoded.indexOf(SEPARATOR);
+            String key = decoded.substring(0, separatorAt);
+            return new Cursor(key.isEmpty() ? null : LocalDateTime.parse(key),
+                    Integer.parseInt(decoded.substring(separatorAt + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Некорректный курсор: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = (key != null ? key.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public static <E, T> CursorPage<T> of(List<E> entities,
+                                          int size,
+                                          Function<E, Cursor> cursorOf,
+                                          Function<List<E>, List<T>> mapper) {
+        if (entities.size() <= size) {
+            return new CursorPage<>(mapper.apply(entities), null);
+        }
+        List<E> page = entities.subList(0, size);
+        return new CursorPage<>(mapper.apply(page), cursorOf.apply(page.get(size - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
@@ -33,6 +34,13 @@ public class ItemRequestController {
         return itemRequestService.getAllItemRequests(userId, from, size);
     }
 
+    @GetMapping(value = "/all", params = "cursor")
+    public ResponseEntity<List<ItemRequestOutputDto>> getAllItemRequestsAfter(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
+                                                                              @RequestParam(name = "cursor") String cursor,
+                                                                              @RequestParam(defaultValue = "10") Integer size) {
+        return itemRequestService.getAllItemRequestsAfter(userId, cursor, size).toResponse();
+    }
+
     @PostMapping
     public ItemRequestOutputDto addItemRequest(@RequestHeader(name = "X-Sharer-User-Id") Integer userId,
                                                @RequestBody ItemRequestCreateDto itemRequestCreateDto) {
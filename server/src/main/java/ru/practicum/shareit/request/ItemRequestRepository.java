@@ -1,14 +1,30 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(Integer ownerId);
 
-    Page<ItemRequest> findAllByRequestorIdNotOrderByCreatedAsc(Integer userId, Pageable page);
+    Slice<ItemRequest> findAllByRequestorIdNotOrderByCreatedAsc(Integer userId, Pageable page);
+
+    List<ItemRequest> findByRequestorIdNotOrderByCreatedAscIdAsc(Integer userId, Pageable page);
+
+    @Query("select itemRequest from ItemRequest itemRequest " +
+            "where itemRequest.requestor.id <> :userId " +
+            "and itemRequest.created >= :afterCreated " +
+            "and (itemRequest.created > :afterCreated " +
+            "or (itemRequest.created = :afterCreated and itemRequest.id > :afterId)) " +
+            "order by itemRequest.created, itemRequest.id")
+    List<ItemRequest> findAllByRequestorIdNotAfter(@Param("userId") Integer userId,
+                                                   @Param("afterCreated") LocalDateTime afterCreated,
+                                                   @Param("afterId") Integer afterId,
+                                                   Pageable page);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -13,6 +14,8 @@ public interface ItemRequestService {
 
     List<ItemRequestOutputDto> getAllItemRequests(Integer userId, Integer from, Integer size);
 
+    CursorPage<ItemRequestOutputDto> getAllItemRequestsAfter(Integer userId, String cursor, Integer size);
+
     ItemRequestOutputDto getItemRequest(Integer userId, Integer itemRequestId);
 
     ItemRequest getItemRequest(Integer itemRequestId);
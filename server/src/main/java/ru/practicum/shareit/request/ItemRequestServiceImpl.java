@@ -1,12 +1,14 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -60,7 +62,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                                                          Integer from,
                                                          Integer size) {
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        Page<ItemRequest> pageItems = itemRequestRepository.findAllByRequestorIdNotOrderByCreatedAsc(userId, page);
+        Slice<ItemRequest> pageItems = itemRequestRepository.findAllByRequestorIdNotOrderByCreatedAsc(userId, page);
 
         List<Integer> itemRequestIds = pageItems.map(ItemRequest::getId).getContent();
 
@@ -72,6 +74,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .getContent();
     }
 
+    @Override
+    public CursorPage<ItemRequestOutputDto> getAllItemRequestsAfter(Integer userId,
+                                                                    String cursor,
+                                                                    Integer size) {
+        Cursor after = Cursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<ItemRequest> itemRequestList = after == null ?
+                itemRequestRepository.findByRequestorIdNotOrderByCreatedAscIdAsc(userId, page) :
+                itemRequestRepository.findAllByRequestorIdNotAfter(userId, after.getKey(), after.getId(), page);
+
+        return CursorPage.of(itemRequestList, size,
+                itemRequest -> new Cursor(itemRequest.getCreated(), itemRequest.getId()),
+                this::toOutputDtos);
+    }
+
     @Override
     @Transactional
     public ItemRequestOutputDto addItemRequest(Integer userId,
@@ -90,4 +107,18 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestRepository.findById(itemRequestId)
                 .orElseThrow(() -> new NullPointerException("Запрос с Id " + itemRequestId + " не найден."));
     }
+
+    private List<ItemRequestOutputDto> toOutputDtos(List<ItemRequest> itemRequestList) {
+        List<Integer> itemRequestIds = itemRequestList.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+
+        List<Item> itemsList = itemService.getItemsByRequestIds(itemRequestIds);
+
+        return itemRequestList.stream()
+                .map(itemRequest -> itemRequestMapper.toOutputDto(itemRequest, itemsList.stream()
+                        .filter(item -> item.getRequestId() == itemRequest.getId())
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
 }
@@ -9,6 +9,7 @@ import ru.practicum.shareit.user.model.User;
 public interface UserMapper {
     UserDto toDto(User user);
 
+    @Mapping(target = "id", ignore = true)
     User toUser(UserDto userDto);
 
     @Mapping(target = "name", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
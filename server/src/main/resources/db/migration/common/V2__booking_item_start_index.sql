@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date);
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+  item_id BIGINT NOT NULL PRIMARY KEY REFERENCES items(id) ON DELETE CASCADE,
+  last_booking_id BIGINT,
+  last_booker_id BIGINT,
+  next_booking_id BIGINT,
+  next_booker_id BIGINT,
+  current_booking_id BIGINT,
+  waiting_count INTEGER NOT NULL DEFAULT 0,
+  approved_count INTEGER NOT NULL DEFAULT 0,
+  rejected_count INTEGER NOT NULL DEFAULT 0,
+  canceled_count INTEGER NOT NULL DEFAULT 0,
+  refresh_due_at TIMESTAMP WITHOUT TIME ZONE,
+  refreshed_at TIMESTAMP WITHOUT TIME ZONE
+);
+CREATE INDEX IF NOT EXISTS ix_item_booking_summaries_refresh_due_at ON item_booking_summaries (refresh_due_at);
+INSERT INTO item_booking_summaries (item_id, refresh_due_at)
+  SELECT i.id, CURRENT_TIMESTAMP FROM items i
+  WHERE EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id)
+  AND NOT EXISTS (SELECT 1 FROM item_booking_summaries s WHERE s.item_id = i.id);
@@ -0,0 +1,12 @@
+CREATE INDEX ix_bookings_booker_start ON bookings (booker_id, start_date, id);
+CREATE INDEX ix_bookings_booker_end ON bookings (booker_id, end_date, id);
+CREATE INDEX ix_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+CREATE INDEX ix_bookings_item_status ON bookings (item_id, status);
+
+CREATE INDEX ix_items_owner ON items (owner_id, id);
+CREATE INDEX ix_items_request ON items (request_id);
+
+CREATE INDEX ix_comments_item_created ON comments (item_id, created);
+
+CREATE INDEX ix_item_requests_requestor_created ON item_requests (requestor_id, created);
+CREATE INDEX ix_item_requests_created_id ON item_requests (created, id);
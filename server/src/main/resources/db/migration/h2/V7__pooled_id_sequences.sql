@@ -0,0 +1,23 @@
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE item_requests_seq INCREMENT BY 50;
+CREATE SEQUENCE items_seq INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE comments_seq INCREMENT BY 50;
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM users);
+ALTER SEQUENCE item_requests_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM item_requests);
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM items);
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings);
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM comments);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE item_requests ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+ALTER TABLE item_requests ALTER COLUMN id SET DEFAULT NEXT VALUE FOR item_requests_seq;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_seq;
@@ -0,0 +1,47 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Overlapping WAITING/APPROVED bookings were accepted before this constraint existed.
+-- APPROVED bookings are history (comments, last booking) and are never rewritten: if two
+-- of them overlap the migration fails and lists them. WAITING bookings are kept greedily,
+-- older ids first, and rejected when they overlap an APPROVED or an already kept booking.
+DO $$
+DECLARE
+  conflicts TEXT;
+  candidate RECORD;
+BEGIN
+  SELECT string_agg(format('item %s: bookings %s and %s', b.item_id, b.id, o.id), '; ' ORDER BY b.item_id, b.id, o.id)
+  INTO conflicts
+  FROM bookings b
+  JOIN bookings o ON o.item_id = b.item_id AND o.id > b.id
+  WHERE b.status = 'APPROVED' AND o.status = 'APPROVED'
+  AND o.start_date < b.end_date AND o.end_date > b.start_date;
+
+  IF conflicts IS NOT NULL THEN
+    RAISE EXCEPTION 'Overlapping APPROVED bookings must be resolved before adding no_overlapping_bookings: %', conflicts;
+  END IF;
+
+  FOR candidate IN
+    SELECT b.id, b.item_id, b.start_date, b.end_date
+    FROM bookings b
+    WHERE b.status = 'WAITING'
+    AND EXISTS (SELECT 1 FROM bookings o
+                WHERE o.item_id = b.item_id AND o.id <> b.id
+                AND o.status IN ('WAITING', 'APPROVED')
+                AND o.start_date < b.end_date AND o.end_date > b.start_date)
+    ORDER BY b.id
+  LOOP
+    IF EXISTS (SELECT 1 FROM bookings kept
+               WHERE kept.item_id = candidate.item_id AND kept.id <> candidate.id
+               AND (kept.status = 'APPROVED' OR (kept.status = 'WAITING' AND kept.id < candidate.id))
+               AND kept.start_date < candidate.end_date AND kept.end_date > candidate.start_date) THEN
+      UPDATE bookings SET status = 'REJECTED', version = version + 1 WHERE id = candidate.id;
+      UPDATE item_booking_summaries SET refresh_due_at = CURRENT_TIMESTAMP WHERE item_id = candidate.item_id;
+    END IF;
+  END LOOP;
+END $$;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS no_overlapping_bookings;
+
+ALTER TABLE bookings ADD CONSTRAINT no_overlapping_bookings
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+  WHERE (status IN ('WAITING', 'APPROVED'));
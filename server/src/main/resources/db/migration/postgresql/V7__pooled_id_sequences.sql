@@ -0,0 +1,29 @@
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+CREATE SEQUENCE item_requests_seq INCREMENT BY 50;
+CREATE SEQUENCE items_seq INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE comments_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('item_requests_seq', COALESCE(MAX(id), 0) + 50, false) FROM item_requests;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 50, false) FROM items;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 50, false) FROM comments;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE item_requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE item_requests ALTER COLUMN id SET DEFAULT nextval('item_requests_seq');
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+ALTER SEQUENCE users_seq OWNED BY users.id;
+ALTER SEQUENCE item_requests_seq OWNED BY item_requests.id;
+ALTER SEQUENCE items_seq OWNED BY items.id;
+ALTER SEQUENCE bookings_seq OWNED BY bookings.id;
+ALTER SEQUENCE comments_seq OWNED BY comments.id;
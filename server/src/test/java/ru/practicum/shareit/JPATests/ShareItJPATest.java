@@ -1,5 +1,7 @@
 package ru.practicum.shareit.JPATests;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,13 +13,17 @@ import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,6 +84,46 @@ class ShareItJPATest {
         assertEquals(3, itemRepository.findItemsByAvailabilityAndNameOrDesc("дР", PageRequest.of(0, 10)).stream().count());
     }
 
+    @Test
+    @DisplayName("Поиск предмета по шаблону, свободного в заданный период")
+    void testSearchItemsFreeInWindow() {
+        Item item2 = itemRepository.save(new Item()
+                .setName("Дрель")
+                .setDescription("Ударная дрель")
+                .setAvailable(true)
+                .setOwner(user1));
+        itemRepository.save(new Item()
+                .setName("Дрель")
+                .setDescription("Сломанная дрель")
+                .setAvailable(false)
+                .setOwner(user1));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(new Booking()
+                .setStart(start)
+                .setEnd(start.plusDays(2))
+                .setItem(item1)
+                .setBooker(user2)
+                .setStatus(BookingStatus.APPROVED));
+        bookingRepository.save(new Booking()
+                .setStart(start)
+                .setEnd(start.plusDays(2))
+                .setItem(item2)
+                .setBooker(user2)
+                .setStatus(BookingStatus.REJECTED));
+
+        Set<BookingStatus> statuses = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        List<Item> items = itemRepository.findItemsFreeInWindowByNameOrDesc("дрель", statuses, start.plusDays(1), start.plusDays(3), 0, PageRequest.of(0, 10));
+        assertEquals(List.of(item2.getId()), items.stream().map(Item::getId).collect(Collectors.toList()));
+
+        items = itemRepository.findItemsFreeInWindowByNameOrDesc("дрель", statuses, start.plusDays(2), start.plusDays(3), 0, PageRequest.of(0, 10));
+        assertEquals(List.of(item1.getId(), item2.getId()), items.stream().map(Item::getId).collect(Collectors.toList()));
+
+        items = itemRepository.findItemsFreeInWindowByNameOrDesc("дрель", statuses, start.plusDays(2), start.plusDays(3), 0, PageRequest.of(1, 1));
+        assertEquals(List.of(item2.getId()), items.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
     @Test
     @DisplayName("Поиск последнего бронирования")
     public void testFindLastBooking() throws InterruptedException {
@@ -111,11 +157,14 @@ class ShareItJPATest {
                 .setStatus(BookingStatus.WAITING);
         bookingRepository.save(bookingFuture);
 
-        List<Booking> bookingList = bookingRepository.findLastBooking(Set.of(item1.getId()),
+        List<ItemBookingView> bookingList = bookingRepository.findLastAndNextBookings(Set.of(item1.getId()),
                 Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name()),
                 LocalDateTime.now());
-        assertEquals(currenBookingFrom, bookingList.stream().findFirst().get().getStart());
-        assertEquals(currenBookingTo, bookingList.stream().findFirst().get().getEnd());
+        ItemBookingView lastBooking = bookingList.stream().filter(ItemBookingView::getLast).findFirst().get();
+        assertEquals(2, bookingList.size());
+        assertEquals(item1.getId(), lastBooking.getItemId());
+        assertEquals(bookingCurrent.getId(), lastBooking.getId());
+        assertEquals(user2.getId(), lastBooking.getBookerId());
     }
 
     @Test
@@ -151,11 +200,14 @@ class ShareItJPATest {
                 .setStatus(BookingStatus.WAITING);
         bookingRepository.save(bookingFuture);
 
-        List<Booking> bookingList = bookingRepository.findNextBooking(Set.of(item1.getId()),
+        List<ItemBookingView> bookingList = bookingRepository.findLastAndNextBookings(Set.of(item1.getId()),
                 Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name()),
                 LocalDateTime.now());
-        assertEquals(futureBookingFrom, bookingList.stream().findFirst().get().getStart());
-        assertEquals(futureBookingTo, bookingList.stream().findFirst().get().getEnd());
+        ItemBookingView nextBooking = bookingList.stream().filter(view -> !view.getLast()).findFirst().get();
+        assertEquals(2, bookingList.size());
+        assertEquals(item1.getId(), nextBooking.getItemId());
+        assertEquals(bookingFuture.getId(), nextBooking.getId());
+        assertEquals(user2.getId(), nextBooking.getBookerId());
     }
 
     @Test
@@ -184,4 +236,46 @@ class ShareItJPATest {
                 Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name()),
                 LocalDateTime.now()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Пакетная вставка бронирований")
+    void testBatchedBookingInsert() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = IntStream.range(0, 120)
+                .mapToObj(i -> new Booking()
+                        .setStart(start.plusDays(i))
+                        .setEnd(start.plusDays(i).plusHours(1))
+                        .setItem(item1)
+                        .setBooker(user2)
+                        .setStatus(BookingStatus.WAITING))
+                .collect(Collectors.toList());
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Вставка без Id берёт значение из той же последовательности")
+    void testNativeInsertUsesIdSequence() {
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO users (name, email) VALUES ('User name3', 'email@user.f3')")
+                .executeUpdate();
+        User user4 = entityManager.persistAndFlush(new User().setName("User name4").setEmail("email@user.f4"));
+
+        Number nativeId = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT id FROM users WHERE email = 'email@user.f3'")
+                .getSingleResult();
+        assertTrue(nativeId.intValue() > user2.getId());
+        assertEquals(4, Set.of(user1.getId(), user2.getId(), user4.getId(), nativeId.intValue()).size());
+    }
+}
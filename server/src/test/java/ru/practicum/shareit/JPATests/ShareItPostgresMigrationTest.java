@@ -0,0 +1,105 @@
+package ru.practicum.shareit.JPATests;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тесты миграций на PostgreSQL")
+class ShareItPostgresMigrationTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Пересекающиеся ожидающие бронирования отклоняются до добавления ограничения")
+    void testOverlapConstraintResolvesExistingOverlaps() {
+        seedItems(4);
+        booking(1, 1, 1, 10, "APPROVED");
+        booking(2, 1, 2, 3, "WAITING");
+        booking(3, 1, 5, 6, "WAITING");
+        booking(4, 2, 1, 4, "WAITING");
+        booking(5, 2, 3, 6, "WAITING");
+        booking(6, 2, 5, 8, "WAITING");
+        booking(7, 3, 1, 4, "WAITING");
+        booking(8, 3, 3, 6, "APPROVED");
+        booking(9, 4, 1, 4, "CANCELED");
+        booking(10, 4, 2, 3, "WAITING");
+
+        flyway(null).migrate();
+
+        assertEquals(Map.of(1, "APPROVED", 2, "REJECTED", 3, "REJECTED", 4, "WAITING", 5, "REJECTED",
+                        6, "WAITING", 7, "REJECTED", 8, "APPROVED", 9, "CANCELED", 10, "WAITING"),
+                jdbcTemplate.queryForList("SELECT id, status FROM bookings").stream()
+                        .collect(Collectors.toMap(row -> ((Number) row.get("id")).intValue(), row -> (String) row.get("status"))));
+        assertEquals(List.of(1, 2, 3), jdbcTemplate.queryForList(
+                "SELECT item_id FROM item_booking_summaries WHERE refresh_due_at IS NOT NULL ORDER BY item_id", Integer.class));
+        assertThrows(DataIntegrityViolationException.class, () -> booking(11, 4, 2, 5, "WAITING"));
+    }
+
+    @Test
+    @DisplayName("Пересекающиеся подтверждённые бронирования останавливают миграцию")
+    void testOverlappingApprovedBookingsFailMigration() {
+        seedItems(2);
+        booking(1, 1, 1, 4, "APPROVED");
+        booking(2, 1, 3, 6, "APPROVED");
+        booking(3, 1, 1, 2, "WAITING");
+        booking(4, 2, 1, 4, "APPROVED");
+
+        FlywayException exception = assertThrows(FlywayException.class, () -> flyway(null).migrate());
+
+        assertTrue(exception.getMessage().contains("item 1: bookings 1 and 2"));
+        assertEquals(List.of("APPROVED", "APPROVED", "WAITING", "APPROVED"),
+                jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class));
+    }
+
+    private void seedItems(int count) {
+        flyway("4").migrate();
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'User', 'user@user.com')");
+        for (int itemId = 1; itemId <= count; itemId++) {
+            jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) VALUES (?, 'Item', 'Item', TRUE, 1)", itemId);
+            jdbcTemplate.update("INSERT INTO item_booking_summaries (item_id) VALUES (?)", itemId);
+        }
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .target(target != null ? target : "latest")
+                .load();
+    }
+
+    private void booking(int id, int itemId, int startDay, int endDay, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, 1, ?)",
+                id, DAY.plusDays(startDay), DAY.plusDays(endDay), itemId, status);
+    }
+}
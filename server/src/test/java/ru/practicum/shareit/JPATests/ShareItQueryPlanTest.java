@@ -0,0 +1,209 @@
+package ru.practicum.shareit.JPATests;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingQuery;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.model.BookingFilterState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("Тесты планов запросов к БД")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.JPATests.ShareItQueryPlanTest$SqlCapture")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShareItQueryPlanTest {
+    private static final int USERS = 200;
+    private static final int ITEMS = 2_000;
+    private static final int REQUESTS = 500;
+    private static final int BOOKINGS = 10_000;
+    private static final int COMMENTS = 2_000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final Set<BookingStatus> ACTIVE = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final Set<String> EXCLUDED = Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @BeforeAll
+    void seed() {
+        insert("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", USERS,
+                id -> new Object[]{id, "User " + id, "user" + id + "@user.com"});
+        insert("INSERT INTO item_requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)", REQUESTS,
+                id -> new Object[]{id, "Request " + id, id % USERS + 1, timestamp(-id)});
+        insert("INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)", ITEMS,
+                id -> new Object[]{id, "Item " + id, "Description " + id, id % 3 != 0, id % USERS + 1,
+                        id % 4 == 0 ? id % REQUESTS + 1 : 0});
+        insert("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?)", BOOKINGS,
+                id -> new Object[]{id, timestamp(id - BOOKINGS / 2), timestamp(id - BOOKINGS / 2 + 2), id % ITEMS + 1,
+                        (id * 7) % USERS + 1, BookingStatus.values()[id % BookingStatus.values().length].name()});
+        insert("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)", COMMENTS,
+                id -> new Object[]{id, "Comment " + id, id % ITEMS + 1, id % USERS + 1, timestamp(-id)});
+        insert("INSERT INTO item_booking_summaries (item_id, refresh_due_at) VALUES (?, ?)", ITEMS,
+                id -> new Object[]{id, timestamp(id)});
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Бронирования пользователя используют индекс")
+    void testBookerSearchPlans() {
+        for (Set<BookingFilterState> states : stateCombinations()) {
+            assertIndexed(() -> bookingRepository.search(query(BookingQuery.Role.BOOKER, states)), "BOOKINGS");
+            assertIndexed(() -> bookingRepository.search(query(BookingQuery.Role.BOOKER, states)
+                    .setAfter(new Cursor(NOW, BOOKINGS / 2))), "BOOKINGS");
+        }
+        assertIndexed(() -> bookingRepository.search(query(BookingQuery.Role.BOOKER, EnumSet.of(BookingFilterState.ALL))
+                .setItemId(1)), "BOOKINGS");
+    }
+
+    @Test
+    @DisplayName("Бронирования владельца используют индекс")
+    void testOwnerSearchPlans() {
+        for (Set<BookingFilterState> states : stateCombinations()) {
+            assertIndexed(() -> bookingRepository.search(query(BookingQuery.Role.OWNER, states)), "BOOKINGS", "ITEMS");
+            assertIndexed(() -> bookingRepository.search(query(BookingQuery.Role.OWNER, states)
+                    .setAfter(new Cursor(NOW, BOOKINGS / 2))), "BOOKINGS", "ITEMS");
+        }
+        assertIndexed(() -> bookingRepository.search(query(BookingQuery.Role.OWNER, EnumSet.of(BookingFilterState.ALL))
+                .setItemId(1)), "BOOKINGS", "ITEMS");
+    }
+
+    @Test
+    @DisplayName("Точечные запросы к бронированиям используют индекс")
+    void testBookingLookupPlans() {
+        assertIndexed(() -> bookingRepository.findById(1), "BOOKINGS", "ITEMS", "USERS");
+        assertIndexed(() -> bookingRepository.findOverlappingBookings(Set.of(1, 2, 3), ACTIVE, NOW, NOW.plusDays(1)),
+                "BOOKINGS");
+        assertIndexed(() -> bookingRepository.findOverlappingBookings(1, 1, ACTIVE, NOW, NOW.plusDays(1), PageRequest.of(0, 1)),
+                "BOOKINGS");
+        assertIndexed(() -> bookingRepository.streamIntervals(1, ACTIVE, NOW.minusDays(1), NOW.plusDays(1)).close(),
+                "BOOKINGS");
+        assertIndexed(() -> bookingRepository.findLastAndNextBookings(Set.of(1, 2, 3), EXCLUDED, NOW),
+                "BOOKINGS", "ITEMS");
+        assertIndexed(() -> bookingRepository.countByStatus(Set.of(1, 2, 3)), "BOOKINGS");
+        assertIndexed(() -> bookingRepository.existsApprovedBookingInPast(1, 1, EXCLUDED, NOW), "BOOKINGS");
+        assertIndexed(() -> bookingRepository.updateStatus(1, 1, BookingStatus.WAITING, BookingStatus.APPROVED),
+                "BOOKINGS", "ITEMS");
+    }
+
+    @Test
+    @DisplayName("Запросы к вещам используют индекс")
+    void testItemPlans() {
+        assertIndexed(() -> itemRepository.findByOwnerIdOrderByIdAsc(1, PageRequest.of(0, 10)), "ITEMS");
+        assertIndexed(() -> itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(1, 10, PageRequest.of(0, 10)), "ITEMS");
+        assertIndexed(() -> itemRepository.findByRequestIdIn(List.of(1, 2, 3)), "ITEMS");
+        assertIndexed(() -> itemRepository.findLockedById(1), "ITEMS");
+        assertIndexed(() -> itemRepository.findLockedByIdInOrderByIdAsc(Set.of(1, 2, 3)), "ITEMS");
+        assertIndexed(() -> itemRepository.findItemsFreeInWindowByNameOrDesc("item", ACTIVE, NOW, NOW.plusDays(1), 0,
+                PageRequest.of(0, 10)), "BOOKINGS");
+    }
+
+    @Test
+    @DisplayName("Запросы к отзывам и запросам вещей используют индекс")
+    void testCommentAndRequestPlans() {
+        assertIndexed(() -> commentRepository.findByItemIdOrderByCreatedAsc(1), "COMMENTS", "USERS");
+        assertIndexed(() -> itemRequestRepository.findAllByRequestorIdOrderByCreatedAsc(1), "ITEM_REQUESTS");
+        assertIndexed(() -> itemRequestRepository.findAllByRequestorIdNotAfter(1, NOW.minusMinutes(REQUESTS / 2), 1,
+                PageRequest.of(0, 10)), "ITEM_REQUESTS");
+        assertIndexed(() -> itemBookingSummaryRepository.findDueItemIds(NOW, PageRequest.of(0, 500)),
+                "ITEM_BOOKING_SUMMARIES");
+        assertIndexed(() -> itemBookingSummaryRepository.findLockedByItemIdInOrderByItemIdAsc(Set.of(1, 2, 3)), "ITEM_BOOKING_SUMMARIES");
+    }
+
+    private void assertIndexed(Runnable repositoryCall, String... tables) {
+        SqlCapture.STATEMENTS.clear();
+        repositoryCall.run();
+        List<String> statements = new ArrayList<>(SqlCapture.STATEMENTS);
+        assertFalse(statements.isEmpty());
+        for (String sql : statements) {
+            String plan = explain(sql);
+            for (String table : tables) {
+                assertFalse(plan.contains("PUBLIC." + table + ".tableScan"),
+                        () -> "Полный просмотр таблицы " + table + ":\n" + plan);
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    private void insert(String sql, int count, IntFunction<Object[]> row) {
+        jdbcTemplate.batchUpdate(sql, IntStream.rangeClosed(1, count)
+                .mapToObj(row)
+                .collect(Collectors.toList()));
+    }
+
+    private static Timestamp timestamp(int minutes) {
+        return Timestamp.valueOf(NOW.plusMinutes(minutes));
+    }
+
+    private static BookingQuery query(BookingQuery.Role role, Set<BookingFilterState> states) {
+        return new BookingQuery(role, 1)
+                .setStates(states)
+                .setDateTimeNow(NOW);
+    }
+
+    private static List<Set<BookingFilterState>> stateCombinations() {
+        List<Set<BookingFilterState>> combinations = Stream.of(BookingFilterState.values())
+                .map(EnumSet::of)
+                .collect(Collectors.toList());
+        combinations.add(EnumSet.of(BookingFilterState.PAST, BookingFilterState.FUTURE));
+        combinations.add(EnumSet.of(BookingFilterState.CURRENT, BookingFilterState.WAITING));
+        return combinations;
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -6,14 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exceptions.AccessForChangesDeniedException;
+import ru.practicum.shareit.exceptions.BookingConflictException;
 import ru.practicum.shareit.exceptions.BookingUpdateNotAllowedException;
 import ru.practicum.shareit.exceptions.ItemIsUnavailableException;
 
@@ -50,7 +53,7 @@ class RESTBookingTest {
     public void testGetAllBooking() throws Exception {
         doReturn(List.of(bookingDto))
                 .when(bookingService)
-                .getAllBooking(anyInt(), anyString(), anyInt(), anyInt());
+                .getAllBooking(anyInt(), anyString(), any(), anyInt(), anyInt());
 
         mvc.perform(get("/bookings")
                         .accept(MediaType.ALL_VALUE)
@@ -67,7 +70,7 @@ class RESTBookingTest {
     public void testGetAllBookingByOwner() throws Exception {
         doReturn(List.of(bookingDto))
                 .when(bookingService)
-                .getAllBookingByOwner(anyInt(), anyString(), anyInt(), anyInt());
+                .getAllBookingByOwner(anyInt(), anyString(), any(), anyInt(), anyInt());
 
         mvc.perform(get("/bookings/owner")
                         .accept(MediaType.ALL_VALUE)
@@ -139,6 +142,49 @@ class RESTBookingTest {
                         .contentType(MediaType.APPLICATION_JSON_VALUE)
                         .content(mapper.writeValueAsString(bookingIncomingDto)))
                 .andExpect(status().isNotFound());
+
+        doThrow(new BookingConflictException(""))
+                .when(bookingService)
+                .addBooking(anyInt(), any(BookingIncomingDto.class));
+
+        mvc.perform(post("/bookings")
+                        .accept(MediaType.ALL_VALUE)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(bookingIncomingDto)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Пакетное создание бронирований")
+    public void testAddBookings() throws Exception {
+        doReturn(List.of(new BookingBulkResultDto()
+                        .setIndex(0)
+                        .setStatus(HttpStatus.CREATED.value())
+                        .setBooking(bookingDto),
+                new BookingBulkResultDto()
+                        .setIndex(1)
+                        .setStatus(HttpStatus.CONFLICT.value())
+                        .setError("Предмет с Id 1 уже забронирован на пересекающийся период в этом же запросе.")))
+                .when(bookingService)
+                .addBookings(anyInt(), anyList());
+
+        BookingIncomingDto bookingIncomingDto = new BookingIncomingDto()
+                .setItemId(1)
+                .setStart(LocalDateTime.of(2023, 8, 1, 5, 50))
+                .setEnd(LocalDateTime.of(2023, 8, 1, 6, 50));
+        mvc.perform(post("/bookings/bulk")
+                        .accept(MediaType.ALL_VALUE)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(mapper.writeValueAsString(List.of(bookingIncomingDto, bookingIncomingDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].index", is(0)))
+                .andExpect(jsonPath("$.[0].status", is(HttpStatus.CREATED.value())))
+                .andExpect(jsonPath("$.[0].booking.id", is(bookingDto.getId()), Integer.class))
+                .andExpect(jsonPath("$.[1].index", is(1)))
+                .andExpect(jsonPath("$.[1].status", is(HttpStatus.CONFLICT.value())))
+                .andExpect(jsonPath("$.[1].booking").doesNotExist());
     }
 
     @Test
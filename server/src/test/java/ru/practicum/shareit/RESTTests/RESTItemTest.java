@@ -1,6 +1,7 @@
 package ru.practicum.shareit.RESTTests;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +14,9 @@ import ru.practicum.shareit.exceptions.ItemOwnerConflictException;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
@@ -21,12 +24,16 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -85,6 +92,35 @@ class RESTItemTest {
                 .andExpect(jsonPath("$.nextBooking", nullValue()));
     }
 
+    @Test
+    @DisplayName("Календарь доступности предмета")
+    public void testGetAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2023, 8, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2023, 8, 10, 0, 0);
+        ItemAvailabilityDto itemAvailabilityDto = new ItemAvailabilityDto()
+                .setItemId(1)
+                .setFrom(from)
+                .setTo(to);
+        itemAvailabilityDto.getFree().add(new AvailabilityIntervalDto().setStart(from).setEnd(to));
+
+        doReturn(itemAvailabilityDto)
+                .when(itemService)
+                .getAvailability(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class));
+
+        mvc.perform(get("/items/{id}/availability", 1)
+                        .param("from", from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                        .param("to", to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                        .accept(MediaType.ALL_VALUE)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.free.[0].start", is(from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))))
+                .andExpect(jsonPath("$.free.[0].end", is(to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))))
+                .andExpect(jsonPath("$.occupied", hasSize(0)));
+
+        verify(itemService).getAvailability(1, from, to);
+    }
+
     @Test
     @DisplayName("Поиск предмета по шаблону")
     public void testSearchItems() throws Exception {
@@ -107,6 +143,21 @@ class RESTItemTest {
                         .accept(MediaType.ALL_VALUE)
                         .header("X-Sharer-User-Id", 1))
                 .andExpect(status().isInternalServerError());
+
+        doReturn(List.of(itemDto))
+                .when(itemService)
+                .searchItemsFreeInWindow(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyInt(), anyInt());
+
+        mvc.perform(get("/items/search")
+                        .param("text", "sss")
+                        .param("start", "2023-08-01T00:00:00")
+                        .param("end", "2023-08-02T00:00:00")
+                        .accept(MediaType.ALL_VALUE)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id", is(itemDto.getId()), Integer.class));
+
+        verify(itemService).searchItemsFreeInWindow("sss", LocalDateTime.of(2023, 8, 1, 0, 0), LocalDateTime.of(2023, 8, 2, 0, 0), 0, 10);
     }
 
     @Test
@@ -131,6 +182,32 @@ class RESTItemTest {
         itemDto.setName("");
     }
 
+    @Test
+    @DisplayName("Создание предмета в формате Smile")
+    public void testAddItemSmile() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+        doReturn(itemDto)
+                .when(itemService)
+                .addItem(anyInt(), any(ItemDto.class));
+
+        byte[] response = mvc.perform(post("/items")
+                        .accept(smile)
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(smile)
+                        .content(smileMapper.writeValueAsBytes(itemDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        ItemDto responseItemDto = smileMapper.readValue(response, ItemDto.class);
+        assertThat(responseItemDto.getId(), is(itemDto.getId()));
+        assertThat(responseItemDto.getDescription(), is(itemDto.getDescription()));
+        verify(itemService).addItem(eq(1), argThat(item -> item.getName().equals(itemDto.getName())));
+    }
+
     @Test
     @DisplayName("Создание комментария")
     public void testAddComment() throws Exception {
@@ -3,20 +3,25 @@ package ru.practicum.shareit.UnitTests;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingQuery;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingServiceImpl;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.model.BookingFilterState;
+import ru.practicum.shareit.exceptions.UnknownStateException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.UserService;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @DisplayName("Бронирование. Unit тесты")
@@ -28,92 +33,55 @@ class ShareItBookingUntTest {
     private final ItemService itemService = mock(ItemService.class);
     private final UserService userService = mock(UserService.class);
     private final BookingMapper bookingMapper = mock(BookingMapper.class);
+    private final ItemBookingSummaryService itemBookingSummaryService = mock(ItemBookingSummaryService.class);
 
     @Test
     @DisplayName("Список всех бронирований")
     public void testGetAllBooking() {
-        bookingService = new BookingServiceImpl(bookingRepository, itemService, userService, bookingMapper);
+        bookingService = new BookingServiceImpl(bookingRepository, itemService, userService, bookingMapper, itemBookingSummaryService);
 
-        doReturn(Page.empty())
+        doReturn(List.of())
                 .when(bookingRepository)
-                .findByBookerIdOrderByStartDesc(anyInt(), any(Pageable.class));
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByBookerIdAndStartIsAfterOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByBookerIdAndEndIsBeforeOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByBookerIdAndStatusOrderByStartDesc(anyInt(), any(BookingStatus.class), any(Pageable.class));
-
-        bookingService.getAllBooking(1, "ALL", 0, 10);
-        bookingService.getAllBooking(1, "FUTURE", 0, 10);
-        bookingService.getAllBooking(1, "PAST", 0, 10);
-        bookingService.getAllBooking(1, "CURRENT", 0, 10);
-        bookingService.getAllBooking(1, "WAITING", 0, 10);
-        bookingService.getAllBooking(1, "REJECTED", 0, 10);
-
-        verify(bookingRepository, atMostOnce())
-                .findByBookerIdOrderByStartDesc(anyInt(), any(Pageable.class));
-        verify(bookingRepository, atMostOnce())
-                .findByBookerIdAndStartIsAfterOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, atMostOnce())
-                .findByBookerIdAndEndIsBeforeOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, atMostOnce())
-                .findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, atMost(2))
-                .findByBookerIdAndStatusOrderByStartDesc(anyInt(), any(BookingStatus.class), any(Pageable.class));
+                .search(any(BookingQuery.class));
+
+        bookingService.getAllBooking(1, "ALL", null, 0, 10);
+        bookingService.getAllBooking(1, "FUTURE", null, 0, 10);
+        bookingService.getAllBooking(1, "PAST", null, 0, 10);
+        bookingService.getAllBooking(1, "CURRENT", null, 0, 10);
+        bookingService.getAllBooking(1, "WAITING", null, 0, 10);
+        bookingService.getAllBooking(1, "REJECTED", 2, 25, 10);
+
+        ArgumentCaptor<BookingQuery> queryCaptor = ArgumentCaptor.forClass(BookingQuery.class);
+        verify(bookingRepository, times(6))
+                .search(queryCaptor.capture());
+
+        BookingQuery lastQuery = queryCaptor.getValue();
+        assertEquals(BookingQuery.Role.BOOKER, lastQuery.getRole());
+        assertEquals(Set.of(BookingFilterState.REJECTED), lastQuery.getStates());
+        assertEquals(2, lastQuery.getItemId());
+        assertEquals(20, lastQuery.getFrom());
+        assertTrue(queryCaptor.getAllValues().get(3).isSortedByEnd());
     }
 
     @Test
     @DisplayName("Список всех бронирований по владельцу")
     public void testGetAllBookingByOwner() {
-        bookingService = new BookingServiceImpl(bookingRepository, itemService, userService, bookingMapper);
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByItemOwnerIdOrderByStartDesc(anyInt(), any(Pageable.class));
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByItemOwnerIdAndStartIsAfterOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        bookingService = new BookingServiceImpl(bookingRepository, itemService, userService, bookingMapper, itemBookingSummaryService);
 
-        doReturn(Page.empty())
+        doReturn(List.of())
                 .when(bookingRepository)
-                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+                .search(any(BookingQuery.class));
 
-        doReturn(Page.empty())
-                .when(bookingRepository)
-                .findByItemOwnerIdAndStatusOrderByStartDesc(anyInt(), any(BookingStatus.class), any(Pageable.class));
+        bookingService.getAllBookingByOwner(1, "WAITING,FUTURE", null, 0, 10);
 
-        bookingService.getAllBookingByOwner(1, "ALL", 0, 10);
-        bookingService.getAllBookingByOwner(1, "FUTURE", 0, 10);
-        bookingService.getAllBookingByOwner(1, "PAST", 0, 10);
-        bookingService.getAllBookingByOwner(1, "CURRENT", 0, 10);
-        bookingService.getAllBookingByOwner(1, "WAITING", 0, 10);
-        bookingService.getAllBookingByOwner(1, "REJECTED", 0, 10);
+        ArgumentCaptor<BookingQuery> queryCaptor = ArgumentCaptor.forClass(BookingQuery.class);
+        verify(bookingRepository)
+                .search(queryCaptor.capture());
 
-        verify(bookingRepository, atMostOnce())
-                .findByItemOwnerIdOrderByStartDesc(anyInt(), any(Pageable.class));
-        verify(bookingRepository, atMostOnce())
-                .findByItemOwnerIdAndStartIsAfterOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, atMostOnce())
-                .findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(anyInt(), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, atMostOnce())
-                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
-        verify(bookingRepository, atMost(2))
-                .findByItemOwnerIdAndStatusOrderByStartDesc(anyInt(), any(BookingStatus.class), any(Pageable.class));
+        assertEquals(BookingQuery.Role.OWNER, queryCaptor.getValue().getRole());
+        assertEquals(Set.of(BookingFilterState.WAITING, BookingFilterState.FUTURE), queryCaptor.getValue().getStates());
+        UnknownStateException exception = assertThrows(UnknownStateException.class,
+                () -> bookingService.getAllBookingByOwner(1, "WAITING,UNKNOWN", null, 0, 10));
+        assertEquals("Unknown state: WAITING,UNKNOWN", exception.getMessage());
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingMapperImpl;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exceptions.CommentCreateNotAllowedException;
 import ru.practicum.shareit.item.*;
@@ -31,9 +33,11 @@ class ShareItItemUnitTest {
     private final ItemRepository itemRepositoryMock = mock(ItemRepository.class);
     private final CommentRepository commentRepositoryMock = mock(CommentRepository.class);
     private final BookingRepository bookingRepositoryMock = mock(BookingRepository.class);
+    private final ItemBookingSummaryRepository itemBookingSummaryRepositoryMock = mock(ItemBookingSummaryRepository.class);
     private final UserService userServiceMock = mock(UserService.class);
     private final ItemMapper itemMapperMock = mock(ItemMapper.class);
     private final CommentMapper commentMapperMock = mock(CommentMapper.class);
+    private final BookingMapper bookingMapperMock = mock(BookingMapper.class);
 
     @Test
     @DisplayName("Поиск предмета по шаблону с пустым шаблоном")
@@ -44,7 +48,7 @@ class ShareItItemUnitTest {
     @Test
     @DisplayName("Ошибка создания комментария от пользователя, не бронировавшего предмет")
     public void testAddCommentError() {
-        itemService = new ItemServiceImpl(itemRepositoryMock, commentRepositoryMock, bookingRepositoryMock, userServiceMock, itemMapperMock, commentMapperMock);
+        itemService = new ItemServiceImpl(itemRepositoryMock, commentRepositoryMock, bookingRepositoryMock, itemBookingSummaryRepositoryMock, userServiceMock, itemMapperMock, commentMapperMock, bookingMapperMock);
 
         when(bookingRepositoryMock.existsApprovedBookingInPast(anyInt(), anyInt(), anySet(), any(LocalDateTime.class)))
                 .thenReturn(false);
@@ -55,7 +59,7 @@ class ShareItItemUnitTest {
     @Test
     @DisplayName("Ошибка поиска не существующего предмета по Id")
     public void testGetItemNotFoundError() {
-        itemService = new ItemServiceImpl(itemRepositoryMock, commentRepositoryMock, bookingRepositoryMock, userServiceMock, itemMapperMock, commentMapperMock);
+        itemService = new ItemServiceImpl(itemRepositoryMock, commentRepositoryMock, bookingRepositoryMock, itemBookingSummaryRepositoryMock, userServiceMock, itemMapperMock, commentMapperMock, bookingMapperMock);
 
         doReturn(Optional.empty())
                 .when(itemRepositoryMock)
@@ -68,12 +72,12 @@ class ShareItItemUnitTest {
     public void testItemMapper() {
         BookingMapper bookingMapper = new BookingMapperImpl();
         CommentMapper commentMapper = new CommentMapperImpl();
-        ItemMapper itemMapper = new ItemMapperImpl(bookingMapper, commentMapper);
+        ItemMapper itemMapper = new ItemMapperImpl(commentMapper);
 
         User user = new User().setId(1).setName("Name").setEmail("email");
         Item item = new Item().setId(1).setName("Name").setDescription("Description").setAvailable(true).setOwner(user);
-        Booking lastBooking = new Booking().setId(1).setItem(item).setBooker(user);
-        Booking nextBooking = new Booking().setId(2).setItem(item).setBooker(user);
+        BookingForItemDto lastBooking = bookingMapper.toForItemDto(new Booking().setId(1).setItem(item).setBooker(user));
+        BookingForItemDto nextBooking = bookingMapper.toForItemDto(new Booking().setId(2).setItem(item).setBooker(user));
 
         assertNull(itemMapper.toDto(null, null, null));
         assertNotNull(itemMapper.toDto(null, null, nextBooking));
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.bench;
+
+import org.flywaydb.core.Flyway;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Inserts bookings the way Hibernate writes them before and after the switch from
+ * {@code IDENTITY} to pooled sequences: one {@code INSERT ... RETURNING id} round trip per
+ * row, against one {@code nextval} per 50 ids and the rows sent as JDBC batches of 50.
+ * Both run in transactions of 1000 rows on a freshly migrated schema, after a warm-up pass
+ * of a tenth of the rows. Run:
+ * {@code BookingInsertBenchmark [rows] [jdbcUrl] [user] [password]}; the default is 100k
+ * rows against in-memory H2, pass a PostgreSQL url with {@code reWriteBatchedInserts=true}
+ * for the production picture.
+ */
+public class BookingInsertBenchmark {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+    private static final int ITEMS = 100;
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1";
+        String user = args.length > 2 ? args[2] : "test";
+        String password = args.length > 3 ? args[3] : "test";
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/" + vendorOf(url))
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            int bookerId = insertUser(connection);
+            int firstItemId = insertItems(connection, bookerId);
+
+            insertRowByRow(connection, rows / 10, firstItemId, bookerId);
+            deleteBookings(connection);
+            insertBatched(connection, rows / 10, firstItemId, bookerId);
+
+            report("identity, row by row", rows, connection,
+                    () -> insertRowByRow(connection, rows, firstItemId, bookerId), rows);
+            report("pooled sequence, batched", rows, connection,
+                    () -> insertBatched(connection, rows, firstItemId, bookerId),
+                    rows / ALLOCATION_SIZE * 2);
+        }
+    }
+
+    private static void report(String mode,
+                               int rows,
+                               Connection connection,
+                               SqlAction action,
+                               int roundTrips) throws SQLException {
+        deleteBookings(connection);
+        long started = System.nanoTime();
+        action.run();
+        long elapsedNanos = System.nanoTime() - started;
+        deleteBookings(connection);
+
+        System.out.printf("%-26s %,d rows in %,d ms (%,.0f rows/s), ~%,d statement round trips%n",
+                mode, rows, elapsedNanos / 1_000_000, rows * 1e9 / elapsedNanos, roundTrips);
+    }
+
+    private static void insertRowByRow(Connection connection, int rows, int firstItemId, int bookerId) throws SQLException {
+        String sql = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, 0)";
+        try (PreparedStatement insert = connection.prepareStatement(sql, new String[]{"id"})) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, 1, i, firstItemId, bookerId);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+                commitEvery(connection, i + 1);
+            }
+        }
+        connection.commit();
+    }
+
+    private static void insertBatched(Connection connection, int rows, int firstItemId, int bookerId) throws SQLException {
+        String sql = "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+        try (PreparedStatement nextValue = connection.prepareStatement("select nextval ('bookings_seq')");
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            long id = 0;
+            long idLimit = 0;
+            for (int i = 0; i < rows; i++) {
+                if (id == idLimit) {
+                    try (ResultSet resultSet = nextValue.executeQuery()) {
+                        resultSet.next();
+                        idLimit = resultSet.getLong(1);
+                    }
+                    id = idLimit - ALLOCATION_SIZE;
+                }
+                insert.setLong(1, ++id);
+                bind(insert, 2, i, firstItemId, bookerId);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+                commitEvery(connection, i + 1);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int firstIndex, int row, int firstItemId, int bookerId) throws SQLException {
+        LocalDateTime start = FIRST_START.plusHours(row);
+        insert.setTimestamp(firstIndex, Timestamp.valueOf(start));
+        insert.setTimestamp(firstIndex + 1, Timestamp.valueOf(start.plusMinutes(30)));
+        insert.setInt(firstIndex + 2, firstItemId + row % ITEMS);
+        insert.setInt(firstIndex + 3, bookerId);
+        insert.setString(firstIndex + 4, BookingStatus.WAITING.name());
+    }
+
+    private static void commitEvery(Connection connection, int inserted) throws SQLException {
+        if (inserted % ROWS_PER_TRANSACTION == 0) {
+            connection.commit();
+        }
+    }
+
+    private static int insertUser(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (name, email) VALUES (?, ?)", new String[]{"id"})) {
+            insert.setString(1, "Bench booker");
+            insert.setString(2, "bench" + System.nanoTime() + "@mail.ru");
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static int insertItems(Connection connection, int ownerId) throws SQLException {
+        int firstItemId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES (?, ?, true, ?, 0)",
+                new String[]{"id"})) {
+            for (int i = 0; i < ITEMS; i++) {
+                insert.setString(1, "Bench item " + i);
+                insert.setString(2, "Bench item " + i);
+                insert.setInt(3, ownerId);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    if (i == 0) {
+                        firstItemId = keys.getInt(1);
+                    }
+                }
+            }
+        }
+        connection.commit();
+        return firstItemId;
+    }
+
+    private static void deleteBookings(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM bookings WHERE start_date >= TIMESTAMP '2030-01-01 00:00:00'");
+        }
+        connection.commit();
+    }
+
+    private static String vendorOf(String url) {
+        return url.startsWith("jdbc:postgresql:") ? "postgresql" : "h2";
+    }
+
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingForItemDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the JSON and Smile encodings of the gateway-to-server hop for full pages of
+ * {@code /bookings/owner} and {@code /items}: bytes on the wire, server CPU to encode the
+ * page and gateway CPU to hand it on as JSON (a plain relay for JSON, a streaming
+ * Smile-to-JSON transcode for Smile). Run:
+ * {@code WireFormatBenchmark [pageSize] [iterations]}
+ */
+public class WireFormatBenchmark {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        report("/bookings/owner", bookingsPage(pageSize), jsonMapper, smileMapper, iterations);
+        report("/items", itemsPage(pageSize), jsonMapper, smileMapper, iterations);
+    }
+
+    private static void report(String route,
+                               Object page,
+                               ObjectMapper jsonMapper,
+                               ObjectMapper smileMapper,
+                               int iterations) throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(page);
+        byte[] smile = smileMapper.writeValueAsBytes(page);
+
+        double jsonEncodeNanos = cpuNanosPerOp(iterations, () -> jsonMapper.writeValueAsBytes(page));
+        double smileEncodeNanos = cpuNanosPerOp(iterations, () -> smileMapper.writeValueAsBytes(page));
+        double transcodeNanos = cpuNanosPerOp(iterations, () -> transcode(smileMapper.getFactory(),
+                jsonMapper.getFactory(), smile));
+
+        System.out.printf("%s page: json %d bytes, smile %d bytes (%.0f%%)%n",
+                route, json.length, smile.length, 100.0 * smile.length / json.length);
+        System.out.printf("  json : server encode %.1f us, gateway relay 0.0 us, total %.1f us%n",
+                jsonEncodeNanos / 1000, jsonEncodeNanos / 1000);
+        System.out.printf("  smile: server encode %.1f us, gateway transcode %.1f us, total %.1f us%n",
+                smileEncodeNanos / 1000, transcodeNanos / 1000, (smileEncodeNanos + transcodeNanos) / 1000);
+    }
+
+    private static double cpuNanosPerOp(int iterations, IoAction action) throws IOException {
+        for (int i = 0; i < iterations / 4; i++) {
+            action.run();
+        }
+        long startCpu = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        return (double) (THREADS.getCurrentThreadCpuTime() - startCpu) / iterations;
+    }
+
+    private static byte[] transcode(JsonFactory from, JsonFactory to, byte[] source) throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream(source.length * 2);
+        try (JsonParser parser = from.createParser(source);
+             JsonGenerator generator = to.createGenerator(target)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        return target.toByteArray();
+    }
+
+    private static List<BookingDto> bookingsPage(int pageSize) {
+        List<BookingDto> page = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            page.add(new BookingDto()
+                    .setId(i)
+                    .setStart(LocalDateTime.of(2026, 1, 1, 10, 0).plusDays(i))
+                    .setEnd(LocalDateTime.of(2026, 1, 2, 10, 0).plusDays(i))
+                    .setItem(item(i))
+                    .setBooker(new UserDto().setId(100 + i).setName("Booker " + i).setEmail("booker" + i + "@mail.ru"))
+                    .setStatus(BookingStatus.APPROVED));
+        }
+        return page;
+    }
+
+    private static List<ItemDto> itemsPage(int pageSize) {
+        List<ItemDto> page = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            page.add(item(i));
+        }
+        return page;
+    }
+
+    private static ItemDto item(int id) {
+        BookingForItemDto lastBooking = new BookingForItemDto();
+        lastBooking.setId(id * 10);
+        lastBooking.setBookerId(100 + id);
+        BookingForItemDto nextBooking = new BookingForItemDto();
+        nextBooking.setId(id * 10 + 1);
+        nextBooking.setBookerId(200 + id);
+
+        List<CommentOutputDto> comments = new ArrayList<>();
+        for (int c = 1; c <= 3; c++) {
+            CommentOutputDto comment = new CommentOutputDto();
+            comment.setId(id * 100 + c);
+            comment.setText("Worked fine for a weekend project, returned on time " + c);
+            comment.setAuthorName("Author " + c);
+            comment.setCreated(LocalDateTime.of(2025, 12, c, 12, 30));
+            comments.add(comment);
+        }
+
+        return new ItemDto()
+                .setId(id)
+                .setName("Drill " + id)
+                .setDescription("Cordless drill with two batteries and a case of bits")
+                .setAvailable(true)
+                .setOwnerId(1)
+                .setRequestId(0)
+                .setLastBooking(lastBooking)
+                .setNextBooking(nextBooking)
+                .setComments(comments);
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.integrTests;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,16 +10,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.dto.BookingBulkResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingIncomingDto;
 import ru.practicum.shareit.booking.model.BookingFilterState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
@@ -25,11 +36,19 @@ import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Интеграционный тест")
 @SpringBootTest
@@ -45,6 +64,12 @@ class ShareItIntegrTests {
     private final BookingController bookingController;
     @Autowired
     private final ItemRequestController itemRequestController;
+    @Autowired
+    private final EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    @Autowired
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
     private UserDto userDto1;
     private UserDto userDto2;
     private ItemDto itemDto1;
@@ -79,6 +104,20 @@ class ShareItIntegrTests {
         assertThrows(DataIntegrityViolationException.class, () -> userController.addUser(userDtoDuplicateEmail));
     }
 
+    @Test
+    @DisplayName("Id из тела запроса на создание игнорируется")
+    void testAddIgnoresId() {
+        UserDto userDto3 = userController.addUser(new UserDto().setId(userDto1.getId()).setName("user3").setEmail("user3@user.com"));
+        ItemDto itemDto2 = itemController.addItem(userDto3.getId(), new ItemDto().setId(itemDto1.getId()).setName("Пила")
+                .setDescription("Простая пила").setAvailable(true));
+
+        assertTrue(userDto3.getId() != userDto1.getId());
+        assertTrue(itemDto2.getId() != itemDto1.getId());
+        assertEquals("user", userController.getUser(userDto1.getId()).getName());
+        assertEquals("Дрель", itemController.getItem(userDto1.getId(), itemDto1.getId()).getName());
+        assertEquals(1, itemController.getAllItems(userDto1.getId(), 0, 10).size());
+    }
+
     @Test
     @DisplayName("Обновление пользователя")
     void testUpdateUser() {
@@ -206,6 +245,177 @@ class ShareItIntegrTests {
         assertThrows(BookingUpdateNotAllowedException.class, () -> bookingController.approveBooking(userDto1.getId(), bookingDto1.getId(), true));
     }
 
+    @Test
+    @DisplayName("Пересекающиеся бронирования")
+    public void testOverlappingBookings() {
+        UserDto userDto3 = userController.addUser(new UserDto().setName("user3").setEmail("user3@user.com"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        BookingDto bookingDto = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusDays(2)));
+
+        BookingIncomingDto bookingIncomingDtoOverlap = new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(1))
+                .setEnd(start.plusDays(3));
+        assertThrows(BookingConflictException.class, () -> bookingController.addBooking(userDto3.getId(), bookingIncomingDtoOverlap));
+
+        BookingDto bookingDtoAdjacent = bookingController.addBooking(userDto3.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(2))
+                .setEnd(start.plusDays(3)));
+        bookingController.approveBooking(userDto1.getId(), bookingDtoAdjacent.getId(), true);
+
+        bookingController.approveBooking(userDto1.getId(), bookingDto.getId(), false);
+        BookingDto bookingDtoOverlap = bookingController.addBooking(userDto3.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusDays(1)));
+
+        assertThrows(BookingConflictException.class, () -> bookingController.approveBooking(userDto1.getId(), bookingDto.getId(), true));
+        assertEquals(BookingStatus.WAITING, bookingController.getBooking(userDto3.getId(), bookingDtoOverlap.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Пересечение находится и при уже пересекающихся бронированиях")
+    public void testOverlapWithLegacyOverlappingBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingDto bookingDtoLong = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusDays(10)));
+        BookingDto bookingDtoShort = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(20))
+                .setEnd(start.plusDays(21)));
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("UPDATE bookings SET start_date = ?, end_date = ? WHERE id = ?")
+                .setParameter(1, start.plusDays(1))
+                .setParameter(2, start.plusDays(2))
+                .setParameter(3, bookingDtoShort.getId())
+                .executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        BookingIncomingDto bookingIncomingDtoOverlap = new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(4))
+                .setEnd(start.plusDays(5));
+        BookingConflictException exception = assertThrows(BookingConflictException.class,
+                () -> bookingController.addBooking(userDto2.getId(), bookingIncomingDtoOverlap));
+        assertTrue(exception.getMessage().contains("Id " + bookingDtoLong.getId() + ")"));
+    }
+
+    @Test
+    @DisplayName("Условное изменение статуса бронирования")
+    public void testConditionalApproval() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto bookingDtoApproved = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusHours(1)));
+        BookingDto bookingDtoRejected = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(1))
+                .setEnd(start.plusDays(1).plusHours(1)));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        assertEquals(BookingStatus.APPROVED, bookingController.approveBooking(userDto1.getId(), bookingDtoApproved.getId(), true).getStatus());
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        statistics.setStatisticsEnabled(false);
+
+        assertThrows(AccessForChangesDeniedException.class, () -> bookingController.approveBooking(userDto2.getId(), bookingDtoRejected.getId(), false));
+        assertThrows(BookingUpdateNotAllowedException.class, () -> bookingController.approveBooking(userDto1.getId(), bookingDtoApproved.getId(), false));
+        assertEquals(BookingStatus.APPROVED, bookingController.getBooking(userDto2.getId(), bookingDtoApproved.getId()).getStatus());
+
+        bookingController.approveBooking(userDto1.getId(), bookingDtoRejected.getId(), false);
+        assertThrows(BookingConflictException.class, () -> bookingController.approveBooking(userDto1.getId(), bookingDtoRejected.getId(), true));
+        assertEquals(BookingStatus.REJECTED, bookingController.getBooking(userDto2.getId(), bookingDtoRejected.getId()).getStatus());
+
+        assertThrows(NullPointerException.class, () -> bookingController.approveBooking(userDto1.getId(), 999, true));
+    }
+
+    @Test
+    @DisplayName("Календарь доступности предмета")
+    public void testGetAvailability() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        BookingDto bookingDto = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(1))
+                .setEnd(start.plusDays(2)));
+        bookingController.approveBooking(userDto1.getId(), bookingDto.getId(), true);
+        bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(2))
+                .setEnd(start.plusDays(3)));
+        BookingDto bookingDtoRejected = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(4))
+                .setEnd(start.plusDays(5)));
+        bookingController.approveBooking(userDto1.getId(), bookingDtoRejected.getId(), false);
+        bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(7))
+                .setEnd(start.plusDays(8)));
+
+        ItemAvailabilityDto availability = itemController.getAvailability(itemDto1.getId(), start, start.plusDays(10));
+
+        assertEquals(List.of(
+                new AvailabilityIntervalDto().setStart(start.plusDays(1)).setEnd(start.plusDays(3)),
+                new AvailabilityIntervalDto().setStart(start.plusDays(7)).setEnd(start.plusDays(8))), availability.getOccupied());
+        assertEquals(List.of(
+                new AvailabilityIntervalDto().setStart(start).setEnd(start.plusDays(1)),
+                new AvailabilityIntervalDto().setStart(start.plusDays(3)).setEnd(start.plusDays(7)),
+                new AvailabilityIntervalDto().setStart(start.plusDays(8)).setEnd(start.plusDays(10))), availability.getFree());
+
+        availability = itemController.getAvailability(itemDto1.getId(), start.plusHours(36), start.plusDays(4));
+
+        assertEquals(List.of(
+                new AvailabilityIntervalDto().setStart(start.plusHours(36)).setEnd(start.plusDays(3))), availability.getOccupied());
+        assertEquals(List.of(
+                new AvailabilityIntervalDto().setStart(start.plusDays(3)).setEnd(start.plusDays(4))), availability.getFree());
+
+        assertThrows(NullPointerException.class, () -> itemController.getAvailability(999, start, start.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Календарь доступности учитывает раннее длинное бронирование")
+    public void testGetAvailabilityWithLegacyOverlappingBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusDays(10)));
+        BookingDto bookingDtoShort = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(20))
+                .setEnd(start.plusDays(21)));
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("UPDATE bookings SET start_date = ?, end_date = ? WHERE id = ?")
+                .setParameter(1, start.plusDays(1))
+                .setParameter(2, start.plusDays(2))
+                .setParameter(3, bookingDtoShort.getId())
+                .executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        ItemAvailabilityDto availability = itemController.getAvailability(itemDto1.getId(), start.plusDays(3), start.plusDays(6));
+
+        assertEquals(List.of(
+                new AvailabilityIntervalDto().setStart(start.plusDays(3)).setEnd(start.plusDays(6))), availability.getOccupied());
+        assertEquals(List.of(), availability.getFree());
+    }
+
     @Test
     @DisplayName("Список всех бронирований")
     public void testGetAllBooking() throws InterruptedException {
@@ -235,12 +445,12 @@ class ShareItIntegrTests {
                 .setEnd(LocalDateTime.now().plusDays(6));
         bookingController.addBooking(userDto2.getId(), bookingIncomingDtoFuture);
 
-        assertEquals(3, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.ALL.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.PAST.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.CURRENT.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.FUTURE.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.REJECTED.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.WAITING.name(), 0, 10).size());
+        assertEquals(3, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.ALL.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.PAST.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.CURRENT.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.FUTURE.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.REJECTED.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.WAITING.name(), null, 0, 10).size());
     }
 
     @Test
@@ -272,12 +482,249 @@ class ShareItIntegrTests {
                 .setEnd(LocalDateTime.now().plusDays(6));
         bookingController.addBooking(userDto2.getId(), bookingIncomingDtoFuture);
 
-        assertEquals(3, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.ALL.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.PAST.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.CURRENT.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.FUTURE.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.REJECTED.name(), 0, 10).size());
-        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.WAITING.name(), 0, 10).size());
+        assertEquals(3, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.ALL.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.PAST.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.CURRENT.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.FUTURE.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.REJECTED.name(), null, 0, 10).size());
+        assertEquals(1, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.WAITING.name(), null, 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("Последнее и следующее бронирование за постоянное число запросов")
+    public void testItemBookingsStatementCount() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            ItemDto itemDto = i == 0 ? itemDto1 : itemController.addItem(userDto1.getId(), new ItemDto().setName("Дрель " + i).setDescription("Простая дрель").setAvailable(true));
+            for (int j = 0; j < 2; j++) {
+                bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                        .setItemId(itemDto.getId())
+                        .setStart(start.plusDays(j))
+                        .setEnd(start.plusDays(j).plusHours(1)));
+            }
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<ItemDto> itemDtoList = itemController.getAllItems(userDto1.getId(), 0, 10);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(5, itemDtoList.size());
+        itemDtoList.forEach(itemDto -> {
+            assertNull(itemDto.getLastBooking());
+            assertEquals(userDto2.getId(), itemDto.getNextBooking().getBookerId());
+        });
+
+        statistics.clear();
+        ItemDto itemDto = itemController.getItem(userDto1.getId(), itemDto1.getId());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, itemDto.getNextBooking().getId());
+
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Сводка бронирований предмета")
+    public void testItemBookingSummary() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2);
+        BookingDto bookingDtoSoon = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusDays(1)));
+        BookingDto bookingDtoLater = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(2))
+                .setEnd(start.plusDays(3)));
+        bookingController.approveBooking(userDto1.getId(), bookingDtoSoon.getId(), true);
+        bookingController.approveBooking(userDto1.getId(), bookingDtoLater.getId(), false);
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(itemDto1.getId()).get();
+        assertNull(summary.getLastBookingId());
+        assertEquals(bookingDtoSoon.getId(), summary.getNextBookingId());
+        assertEquals(userDto2.getId(), summary.getNextBookerId());
+        assertEquals(0, summary.getWaitingCount());
+        assertEquals(1, summary.getApprovedCount());
+        assertEquals(1, summary.getRejectedCount());
+        assertEquals(bookingDtoSoon.getId(), itemController.getItem(userDto1.getId(), itemDto1.getId()).getNextBooking().getId());
+
+        Thread.sleep(2500);
+
+        ItemDto itemDto = itemController.getItem(userDto1.getId(), itemDto1.getId());
+        assertEquals(bookingDtoSoon.getId(), itemDto.getLastBooking().getId());
+        assertNull(itemDto.getNextBooking());
+
+        itemBookingSummaryService.refreshDue();
+
+        summary = itemBookingSummaryRepository.findById(itemDto1.getId()).get();
+        assertEquals(bookingDtoSoon.getId(), summary.getLastBookingId());
+        assertEquals(bookingDtoSoon.getId(), summary.getCurrentBookingId());
+        assertNull(summary.getNextBookingId());
+        assertTrue(summary.isFreshAt(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Пакетное создание бронирований")
+    public void testAddBookings() {
+        ItemDto itemDto2 = itemController.addItem(userDto1.getId(), new ItemDto().setName("Отвертка").setDescription("Аккумуляторная отвертка").setAvailable(true));
+        ItemDto itemDto3 = itemController.addItem(userDto1.getId(), new ItemDto().setName("Пила").setDescription("Сломанная пила").setAvailable(false));
+        ItemDto itemDto4 = itemController.addItem(userDto2.getId(), new ItemDto().setName("Молоток").setDescription("Простой молоток").setAvailable(true));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingDto bookingDtoExisting = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusHours(1)));
+        bookingController.approveBooking(userDto1.getId(), bookingDtoExisting.getId(), true);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        List<BookingBulkResultDto> results = bookingController.addBookings(userDto2.getId(), List.of(
+                new BookingIncomingDto().setItemId(itemDto1.getId()).setStart(start.plusHours(2)).setEnd(start.plusHours(3)),
+                new BookingIncomingDto().setItemId(itemDto1.getId()).setStart(start.plusMinutes(30)).setEnd(start.plusMinutes(90)),
+                new BookingIncomingDto().setItemId(itemDto2.getId()).setStart(start).setEnd(start.plusHours(1)),
+                new BookingIncomingDto().setItemId(itemDto2.getId()).setStart(start.plusMinutes(30)).setEnd(start.plusHours(2)),
+                new BookingIncomingDto().setItemId(itemDto3.getId()).setStart(start).setEnd(start.plusHours(1)),
+                new BookingIncomingDto().setItemId(itemDto4.getId()).setStart(start).setEnd(start.plusHours(1)),
+                new BookingIncomingDto().setItemId(999).setStart(start).setEnd(start.plusHours(1))));
+        assertEquals(10, statistics.getPrepareStatementCount());
+
+        assertEquals(List.of(201, 409, 201, 409, 400, 404, 404),
+                results.stream().map(BookingBulkResultDto::getStatus).collect(Collectors.toList()));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6),
+                results.stream().map(BookingBulkResultDto::getIndex).collect(Collectors.toList()));
+        assertTrue(results.get(1).getError().contains(String.valueOf(bookingDtoExisting.getId())));
+        assertNull(results.get(1).getBooking());
+
+        BookingDto bookingDtoCreated = results.get(0).getBooking();
+        assertEquals(BookingStatus.WAITING, bookingDtoCreated.getStatus());
+        assertEquals(itemDto1.getId(), bookingDtoCreated.getItem().getId());
+        assertEquals(userDto2.getId(), bookingDtoCreated.getBooker().getId());
+        assertEquals(bookingDtoCreated.getId(), bookingController.getBooking(userDto2.getId(), bookingDtoCreated.getId()).getId());
+        assertEquals(3, bookingController.getAllBooking(userDto2.getId(), "ALL", null, 0, 10).size());
+
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(itemDto1.getId()).get();
+        assertEquals(1, summary.getWaitingCount());
+        assertEquals(1, summary.getApprovedCount());
+        assertEquals(bookingDtoExisting.getId(), summary.getNextBookingId());
+        summary = itemBookingSummaryRepository.findById(itemDto2.getId()).get();
+        assertEquals(1, summary.getWaitingCount());
+        assertEquals(results.get(2).getBooking().getId(), summary.getNextBookingId());
+    }
+
+    @Test
+    @DisplayName("Совмещение фильтров бронирований")
+    public void testCombinedBookingFilters() {
+        ItemDto itemDto2 = itemController.addItem(userDto1.getId(), new ItemDto().setName("Отвертка").setDescription("Аккумуляторная отвертка").setAvailable(true));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto bookingDtoApproved = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start)
+                .setEnd(start.plusHours(1)));
+        bookingController.approveBooking(userDto1.getId(), bookingDtoApproved.getId(), true);
+        BookingDto bookingDtoWaiting = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto1.getId())
+                .setStart(start.plusDays(1))
+                .setEnd(start.plusDays(1).plusHours(1)));
+        BookingDto bookingDtoOtherItem = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                .setItemId(itemDto2.getId())
+                .setStart(start.plusDays(2))
+                .setEnd(start.plusDays(2).plusHours(1)));
+
+        assertEquals(List.of(bookingDtoOtherItem.getId(), bookingDtoWaiting.getId()),
+                bookingController.getAllBooking(userDto2.getId(), "WAITING,FUTURE", null, 0, 10).stream()
+                        .map(BookingDto::getId)
+                        .collect(Collectors.toList()));
+        assertEquals(List.of(bookingDtoWaiting.getId(), bookingDtoApproved.getId()),
+                bookingController.getAllBookingByOwner(userDto1.getId(), "FUTURE", itemDto1.getId(), 0, 10).stream()
+                        .map(BookingDto::getId)
+                        .collect(Collectors.toList()));
+        assertEquals(List.of(bookingDtoWaiting.getId()),
+                bookingController.getAllBookingByOwner(userDto1.getId(), "WAITING", itemDto1.getId(), 0, 10).stream()
+                        .map(BookingDto::getId)
+                        .collect(Collectors.toList()));
+        assertEquals(0, bookingController.getAllBooking(userDto2.getId(), "WAITING,PAST", null, 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("Постраничный вывод по курсору")
+    public void testCursorPagination() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                    .setItemId(itemDto1.getId())
+                    .setStart(start.plusDays(i))
+                    .setEnd(start.plusDays(i).plusHours(1)));
+            itemController.addItem(userDto1.getId(), new ItemDto().setName("Дрель " + i).setDescription("Простая дрель").setAvailable(true));
+            itemRequestController.addItemRequest(userDto1.getId(), new ItemRequestCreateDto().setDescription("Item request description " + i));
+        }
+
+        ResponseEntity<List<BookingDto>> bookingPage = bookingController.getAllBookingAfter(userDto2.getId(), BookingFilterState.ALL.name(), null, "", 2);
+        assertEquals(List.of(3, 2), bookingPage.getBody().stream().map(BookingDto::getId).collect(Collectors.toList()));
+        String cursor = bookingPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER);
+        bookingPage = bookingController.getAllBookingAfter(userDto2.getId(), BookingFilterState.ALL.name(), null, cursor, 2);
+        assertEquals(List.of(1), bookingPage.getBody().stream().map(BookingDto::getId).collect(Collectors.toList()));
+        assertNull(bookingPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+
+        bookingPage = bookingController.getAllBookingByOwnerAfter(userDto1.getId(), BookingFilterState.FUTURE.name(), null, cursor, 2);
+        assertEquals(List.of(1), bookingPage.getBody().stream().map(BookingDto::getId).collect(Collectors.toList()));
+
+        ResponseEntity<List<ItemDto>> itemPage = itemController.getAllItemsAfter(userDto1.getId(), "", 3);
+        assertEquals(List.of(1, 2, 3), itemPage.getBody().stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertNotNull(itemPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+        itemPage = itemController.getAllItemsAfter(userDto1.getId(), itemPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER), 3);
+        assertEquals(List.of(4), itemPage.getBody().stream().map(ItemDto::getId).collect(Collectors.toList()));
+
+        itemPage = itemController.searchItemsAfter("дрель", "", 2);
+        itemPage = itemController.searchItemsAfter("дрель", itemPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER), 2);
+        assertEquals(List.of(3, 4), itemPage.getBody().stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertNull(itemPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+
+        ResponseEntity<List<ItemRequestOutputDto>> itemRequestPage = itemRequestController.getAllItemRequestsAfter(userDto2.getId(), "", 2);
+        assertEquals(List.of(1, 2), itemRequestPage.getBody().stream().map(ItemRequestOutputDto::getId).collect(Collectors.toList()));
+        itemRequestPage = itemRequestController.getAllItemRequestsAfter(userDto2.getId(), itemRequestPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER), 2);
+        assertEquals(List.of(3), itemRequestPage.getBody().stream().map(ItemRequestOutputDto::getId).collect(Collectors.toList()));
+        assertNull(itemRequestPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+
+        bookingPage = bookingController.getAllBookingAfter(userDto2.getId(), BookingFilterState.ALL.name(), null, "", 3);
+        assertEquals(3, bookingPage.getBody().size());
+        assertNull(bookingPage.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+
+        assertThrows(InvalidCursorException.class, () -> itemController.getAllItemsAfter(userDto1.getId(), "не курсор", 3));
+    }
+
+    @Test
+    @DisplayName("Чтение бронирований без N+1 запросов")
+    public void testBookingReadStatementCount() {
+        ItemDto itemDto2 = itemController.addItem(userDto1.getId(), new ItemDto().setName("Отвертка").setDescription("Аккумуляторная отвертка").setAvailable(true));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto bookingDto = null;
+        for (int i = 0; i < 4; i++) {
+            bookingDto = bookingController.addBooking(userDto2.getId(), new BookingIncomingDto()
+                    .setItemId(i % 2 == 0 ? itemDto1.getId() : itemDto2.getId())
+                    .setStart(start.plusDays(i))
+                    .setEnd(start.plusDays(i).plusHours(1)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        assertEquals(4, bookingController.getAllBooking(userDto2.getId(), BookingFilterState.ALL.name(), null, 0, 10).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals(4, bookingController.getAllBookingByOwner(userDto1.getId(), BookingFilterState.FUTURE.name(), null, 0, 10).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals(4, bookingController.getAllBookingAfter(userDto2.getId(), BookingFilterState.WAITING.name(), null, "", 10).getBody().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals("Отвертка", bookingController.getBooking(userDto2.getId(), bookingDto.getId()).getItem().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.setStatisticsEnabled(false);
     }
 
     @Test